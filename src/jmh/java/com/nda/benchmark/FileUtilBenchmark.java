@@ -0,0 +1,77 @@
+package com.nda.benchmark;
+
+import com.nda.common.ReleaseTable;
+import com.nda.util.FileUtil;
+import com.nda.util.MappedInputParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=src/jmh/resources/log4j2-jmh.xml")
+public class FileUtilBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int rows;
+
+    @Param({"10", "1000", "1000000"})
+    private int sprintLength;
+
+    private List<int[]> releases;
+    private ReleaseTable releaseTable;
+    private Path directory;
+    private String inputFileName;
+    private String outputFileName;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        releases = ReleaseData.generateReleases(rows, sprintLength);
+        releaseTable = ReleaseTable.fromList(releases);
+        directory = Files.createTempDirectory("release-bench");
+        Path inputFile = directory.resolve("releases.txt");
+        Files.write(inputFile, ReleaseData.generateLines(rows, sprintLength));
+        inputFileName = inputFile.toString();
+        outputFileName = directory.resolve("output.txt").toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Path.of(inputFileName));
+        Files.deleteIfExists(Path.of(outputFileName));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public List<String> readInputFile() throws IOException {
+        return FileUtil.readInputFile(inputFileName);
+    }
+
+    @Benchmark
+    public List<int[]> parseMappedInputFile() throws IOException {
+        return MappedInputParser.parseInputFile(inputFileName, sprintLength);
+    }
+
+    @Benchmark
+    public ReleaseTable parseInputTableInChunks() throws IOException {
+        return MappedInputParser.parseInputTable(inputFileName, sprintLength);
+    }
+
+    @Benchmark
+    public void writeResultTableToFile() throws IOException {
+        FileUtil.writeResultTableToFile(releases, outputFileName);
+    }
+
+    @Benchmark
+    public void writeResultReleaseTableToFile() throws IOException {
+        FileUtil.writeResultTableToFile(releaseTable, outputFileName);
+    }
+
+}
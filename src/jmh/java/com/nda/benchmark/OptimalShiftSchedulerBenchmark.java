@@ -0,0 +1,40 @@
+package com.nda.benchmark;
+
+import com.nda.common.ReleaseTable;
+import com.nda.logic.ReleaseFinder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The exact solver needs O(rows * min(rows, sprintLength)) time and memory, so it runs on its own grid: every point
+ * here stays well below {@link com.nda.logic.OptimalShiftScheduler#MAX_TAKEN_BITS}, while most of the
+ * {@link ReleaseFinderBenchmark} grid would be rejected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=src/jmh/resources/log4j2-jmh.xml")
+public class OptimalShiftSchedulerBenchmark {
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    @Param({"10", "1000", "1000000"})
+    private int sprintLength;
+
+    private ReleaseTable releaseTable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        releaseTable = ReleaseTable.fromList(ReleaseData.generateReleases(rows, sprintLength));
+    }
+
+    @Benchmark
+    public ReleaseTable findOptimalReleaseTableWithShift() {
+        return ReleaseFinder.findOptimalReleasesWithShiftPerSprint(releaseTable, sprintLength);
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.nda.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+//synthetic release sets shared by the benchmarks, seeded so every fork sees the same input
+final class ReleaseData {
+
+    private static final long SEED = 42L;
+
+    private ReleaseData() {
+    }
+
+    static List<int[]> generateReleases(int rows, int sprintLength) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int maxEstimation = Math.max(1, sprintLength / 10);
+        List<int[]> releases = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            int startDay = 1 + random.nextInt(sprintLength);
+            int estimation = 1 + random.nextInt(maxEstimation);
+            releases.add(new int[]{startDay, estimation});
+        }
+        return releases;
+    }
+
+    static List<String> generateLines(int rows, int sprintLength) {
+        List<String> lines = new ArrayList<>(rows);
+        for (int[] release : generateReleases(rows, sprintLength)) {
+            lines.add(release[0] + " " + release[1]);
+        }
+        return lines;
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.nda.benchmark;
+
+import com.nda.common.ReleaseTable;
+import com.nda.common.SprintSchedule;
+import com.nda.logic.ReleaseFinder;
+import com.nda.logic.ReleaseSchedulingEngine;
+import com.nda.logic.SprintLengthSweep;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=src/jmh/resources/log4j2-jmh.xml")
+public class ReleaseFinderBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int rows;
+
+    @Param({"10", "1000", "1000000"})
+    private int sprintLength;
+
+    private List<int[]> releases;
+    private ReleaseTable releaseTable;
+    private ReleaseSchedulingEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        releases = ReleaseData.generateReleases(rows, sprintLength);
+        releaseTable = ReleaseTable.fromList(releases);
+        engine = new ReleaseSchedulingEngine(sprintLength);
+    }
+
+    @Benchmark
+    public List<int[]> findMaxReleasesWithoutShift() {
+        return ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(releases, sprintLength);
+    }
+
+    @Benchmark
+    public List<int[]> findMaxReleasesWithShift() {
+        return ReleaseFinder.findMaxReleasesWithShiftPerSprint(releases, sprintLength);
+    }
+
+    @Benchmark
+    public List<int[]> findMaxWeightedReleases() {
+        return ReleaseFinder.findMaxWeightedReleasesPerSprint(releases, sprintLength);
+    }
+
+    @Benchmark
+    public ReleaseTable findMaxReleaseTableWithoutShift() {
+        return ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(releaseTable, sprintLength);
+    }
+
+    @Benchmark
+    public ReleaseTable findMaxReleaseTableWithShift() {
+        return ReleaseFinder.findMaxReleasesWithShiftPerSprint(releaseTable, sprintLength);
+    }
+
+    @Benchmark
+    public SprintSchedule findMaxReleaseTablesForBothModes() {
+        return ReleaseFinder.findMaxReleasesPerSprint(releaseTable, sprintLength);
+    }
+
+    @Benchmark
+    public int findMaxReleaseTablesForBothModesWithEngine() {
+        try (ReleaseSchedulingEngine.Lease lease = engine.acquire()) {
+            SprintSchedule schedule = lease.findMaxReleasesPerSprint(releaseTable);
+            return schedule.releasesWithoutShift().size() + schedule.releasesWithShift().size();
+        }
+    }
+
+    @Benchmark
+    public SprintLengthSweep.Result sweepAllSprintLengthsWithoutShift() {
+        return ReleaseFinder.findMaxReleasesWithoutShiftPerSprintLength(releaseTable, sprintLength, false);
+    }
+
+}
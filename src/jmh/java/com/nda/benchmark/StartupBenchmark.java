@@ -0,0 +1,134 @@
+package com.nda.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Time to first output of a fresh JVM on the sample input: from launch until output/output.txt exists and is not
+ * empty, which includes JVM startup, parsing, scheduling and writing, but not the bonus output or shutdown. The
+ * benchmark polls for the file every {@value #POLL_MICROS} microseconds; waiting for the process to exit and
+ * checking that both outputs exist happen after the measured time, as Runner logs failures and still exits with 0.
+ * Outputs are deleted before every run. The fastStartCds variant needs the jar and archive from
+ * {@code mvn -Pfast-start package}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=src/jmh/resources/log4j2-jmh.xml")
+public class StartupBenchmark {
+
+    private static final String JAR = "target/testing_assessment-1.0-SNAPSHOT.jar";
+    private static final String CDS_ARCHIVE = "target/app-cds.jsa";
+    private static final String SAMPLE_INPUT = "input/releases.txt";
+    private static final String FIRST_OUTPUT = "output/output.txt";
+    private static final List<String> OUTPUTS = List.of(FIRST_OUTPUT, "output/bonus_output.txt");
+    private static final long POLL_MICROS = 100;
+
+    @Param({"default", "fastStart", "fastStartCds"})
+    private String launch;
+
+    private Path workingDirectory;
+    private List<String> command;
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workingDirectory = Files.createTempDirectory("startup-benchmark");
+        Files.createDirectories(workingDirectory.resolve("input"));
+        Files.copy(Paths.get(SAMPLE_INPUT), workingDirectory.resolve(SAMPLE_INPUT));
+
+        command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Dscheduler.cache=false");
+        if (!"default".equals(launch)) {
+            command.add("-Dscheduler.fastStart=true");
+        }
+        if ("fastStartCds".equals(launch)) {
+            Path archive = Paths.get(CDS_ARCHIVE).toAbsolutePath();
+            if (Files.notExists(archive)) {
+                throw new IllegalStateException("Run mvn -Pfast-start package to create " + archive);
+            }
+            command.add("-XX:SharedArchiveFile=" + archive);
+            command.add("-jar");
+            command.add(Paths.get(JAR).toAbsolutePath().toString());
+        } else {
+            command.add("-cp");
+            command.add(absoluteClasspath());
+            command.add("com.nda.Runner");
+        }
+    }
+
+    //not part of the measured time
+    @Setup(Level.Invocation)
+    public void deleteOutputs() throws IOException {
+        for (String output : OUTPUTS) {
+            Files.deleteIfExists(workingDirectory.resolve(output));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(workingDirectory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    //not part of the measured time
+    @TearDown(Level.Invocation)
+    public void awaitExit() throws InterruptedException {
+        int exitCode = process.waitFor();
+        for (String output : OUTPUTS) {
+            if (exitCode != 0 || Files.notExists(workingDirectory.resolve(output))) {
+                throw new IllegalStateException("Run failed with exit code " + exitCode + ", missing " + output);
+            }
+        }
+    }
+
+    @Benchmark
+    public long runSampleInputUntilFirstOutput() throws IOException {
+        process = new ProcessBuilder(command)
+                .directory(workingDirectory.toFile())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        Path firstOutput = workingDirectory.resolve(FIRST_OUTPUT);
+        while (true) {
+            if (Files.exists(firstOutput)) {
+                long size = Files.size(firstOutput);
+                if (size > 0) {
+                    return size;
+                }
+            }
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Run exited with code " + process.exitValue() + " before writing "
+                        + FIRST_OUTPUT);
+            }
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(POLL_MICROS));
+        }
+    }
+
+    //the child runs in a temporary directory, so relative classpath entries are resolved here
+    private static String absoluteClasspath() {
+        List<String> entries = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            entries.add(Paths.get(entry).toAbsolutePath().toString());
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+}
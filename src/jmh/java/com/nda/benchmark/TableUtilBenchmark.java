@@ -0,0 +1,35 @@
+package com.nda.benchmark;
+
+import com.nda.util.TableUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=src/jmh/resources/log4j2-jmh.xml")
+public class TableUtilBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int rows;
+
+    @Param({"10", "1000", "1000000"})
+    private int sprintLength;
+
+    private List<String> lines;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        lines = ReleaseData.generateLines(rows, sprintLength);
+    }
+
+    @Benchmark
+    public List<int[]> parseInputToTable() {
+        return TableUtil.parseInputToTable(lines, sprintLength);
+    }
+
+}
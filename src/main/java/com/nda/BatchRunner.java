@@ -0,0 +1,183 @@
+package com.nda;
+
+import com.nda.common.ScheduleSummary;
+import com.nda.metrics.SchedulerMetrics;
+import com.nda.util.ResultCache;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.nda.common.Constants.*;
+
+/**
+ * Schedules many release files in one JVM. Each file is one team: its results go to
+ * {@code <outputDirectory>/<team>/output.txt} and {@code bonus_output.txt}, and a summary of all teams
+ * is written to {@code <outputDirectory>/summary.txt}. The team is the file name without its extension, unless
+ * several files share that name, e.g. {@code a.txt} and {@code a.csv}: those teams keep their extension.
+ */
+public class BatchRunner {
+
+    private static final Logger LOGGER = LogManager.getLogger(BatchRunner.class);
+
+    private static final String GLOB_CHARACTERS = "*?[{";
+    private static final String SUMMARY_HEADER = "team releases without_shift with_shift time_ms status";
+    private static final String STATUS_OK = "OK";
+
+    public record BatchResult(String team, ScheduleSummary summary, long elapsedMillis, String error) {
+
+        public boolean isSuccessful() {
+            return error == null;
+        }
+
+    }
+
+    public static List<BatchResult> run(String inputPattern, String outputDirectory, int sprintLength)
+            throws IOException, InterruptedException {
+        return run(inputPattern, outputDirectory, sprintLength, null);
+    }
+
+    //cache may be null to always parse and solve every file
+    public static List<BatchResult> run(String inputPattern, String outputDirectory, int sprintLength,
+                                        ResultCache cache) throws IOException, InterruptedException {
+        SchedulerMetrics.registerMBean();
+        List<Path> inputFiles = resolveInputFiles(inputPattern);
+        LOGGER.info("Found {} input files for {}.", inputFiles.size(), inputPattern);
+        Map<Path, String> teams = teamNames(inputFiles);
+
+        List<BatchResult> results = new ArrayList<>();
+        if (!inputFiles.isEmpty()) {
+            int threads = Math.min(inputFiles.size(), Runtime.getRuntime().availableProcessors());
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<BatchResult>> futures = new ArrayList<>();
+                for (Path inputFile : inputFiles) {
+                    String team = teams.get(inputFile);
+                    futures.add(executor.submit(
+                            () -> processTeamFile(inputFile, team, outputDirectory, sprintLength, cache)));
+                }
+                for (Future<BatchResult> future : futures) {
+                    results.add(future.get());
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Batch task failed unexpectedly", e.getCause());
+            } finally {
+                executor.shutdownNow();
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            }
+        }
+
+        writeSummary(results, Paths.get(outputDirectory, BATCH_SUMMARY_FILE));
+        return results;
+    }
+
+    //a directory means every regular file in it; otherwise the last path segment is a glob, e.g. input/teams/*.txt
+    static List<Path> resolveInputFiles(String inputPattern) throws IOException {
+        int separator = Math.max(inputPattern.lastIndexOf('/'), inputPattern.lastIndexOf('\\'));
+        String lastSegment = inputPattern.substring(separator + 1);
+        Path directory;
+        String glob;
+        if (lastSegment.chars().anyMatch(c -> GLOB_CHARACTERS.indexOf(c) >= 0)) {
+            directory = Paths.get(separator < 0 ? "." : inputPattern.substring(0, separator + 1));
+            glob = lastSegment;
+        } else {
+            directory = Paths.get(inputPattern);
+            glob = "*";
+        }
+        if (!Files.isDirectory(directory)) {
+            throw new NoSuchFileException(directory.toString(), null, "Input directory does not exist");
+        }
+
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> matcher.matches(file.getFileName()))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static BatchResult processTeamFile(Path inputFile, String team, String outputDirectory,
+                                               int sprintLength, ResultCache cache) {
+        Path teamDirectory = Paths.get(outputDirectory, team);
+        long startTime = System.nanoTime();
+        try {
+            String outputFile = teamDirectory.resolve(OUTPUT_FILE).toString();
+            String bonusOutputFile = teamDirectory.resolve(BONUS_TASK_OUTPUT_FILE).toString();
+            ScheduleSummary summary = cache == null
+                    ? Runner.processFile(inputFile.toString(), outputFile, bonusOutputFile, sprintLength)
+                    : Runner.processFile(inputFile.toString(), outputFile, bonusOutputFile, sprintLength, cache);
+            return new BatchResult(team, summary, elapsedMillis(startTime), null);
+        } catch (Exception e) {
+            LOGGER.error("Error processing the file {}: {}", inputFile, e.getMessage());
+            return new BatchResult(team, null, elapsedMillis(startTime), e.getMessage());
+        }
+    }
+
+    private static void writeSummary(List<BatchResult> results, Path summaryFile) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(SUMMARY_HEADER);
+        int failed = 0;
+        for (BatchResult result : results) {
+            if (result.isSuccessful()) {
+                ScheduleSummary summary = result.summary();
+                lines.add(result.team() + " " + summary.releases() + " " + summary.releasesWithoutShift() + " " +
+                        summary.releasesWithShift() + " " + result.elapsedMillis() + " " + STATUS_OK);
+            } else {
+                failed++;
+                lines.add(result.team() + " - - - " + result.elapsedMillis() + " ERROR: " + result.error());
+            }
+        }
+        lines.add("total " + results.size() + " files, " + failed + " failed");
+
+        if (summaryFile.getParent() != null) {
+            Files.createDirectories(summaryFile.getParent());
+        }
+        Files.write(summaryFile, lines);
+        LOGGER.info("Finished writing batch summary. File path: {}.", summaryFile);
+    }
+
+    //resolved before any work is submitted, so two files never write into the same team directory
+    static Map<Path, String> teamNames(List<Path> inputFiles) {
+        Map<String, Long> filesPerName = inputFiles.stream()
+                .collect(Collectors.groupingBy(BatchRunner::teamName, Collectors.counting()));
+        Map<Path, String> teams = new LinkedHashMap<>();
+        Set<String> usedNames = new HashSet<>();
+        for (Path inputFile : inputFiles) {
+            String team = teamName(inputFile);
+            if (filesPerName.get(team) > 1) {
+                team = inputFile.getFileName().toString();
+            }
+            if (!usedNames.add(team)) {
+                throw new IllegalArgumentException("Several input files map to the team " + team);
+            }
+            teams.put(inputFile, team);
+        }
+        return teams;
+    }
+
+    private static String teamName(Path inputFile) {
+        String fileName = inputFile.getFileName().toString();
+        int extension = fileName.lastIndexOf('.');
+        return extension > 0 ? fileName.substring(0, extension) : fileName;
+    }
+
+    private static long elapsedMillis(long startTime) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+}
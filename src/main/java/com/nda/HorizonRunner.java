@@ -0,0 +1,74 @@
+package com.nda;
+
+import com.nda.common.HorizonSchedule;
+import com.nda.common.ReleaseTable;
+import com.nda.logic.HorizonScheduler;
+import com.nda.util.FileUtil;
+import com.nda.util.ResultTableWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static com.nda.common.Constants.*;
+
+/**
+ * Schedules an input spanning many consecutive sprints, with day numbers counted from the first day of the first
+ * sprint.
+ * <pre>
+ * [input file] [sprint length] [sprint count]
+ * </pre>
+ * Writes {@code output.txt} and {@code bonus_output.txt} with the selected releases of all sprints together, and
+ * {@code sprints.txt} with the number of sprints that had releases followed by one
+ * "sprint releases without_shift with_shift" row per such sprint.
+ */
+public class HorizonRunner {
+
+    private static final Logger LOGGER = LogManager.getLogger(HorizonRunner.class);
+
+    public static void main(String[] args) {
+        try {
+            String inputFileName = args.length > 0 ? args[0] : INPUT_FILE_NAME;
+            int sprintLength = args.length > 1 ? Integer.parseInt(args[1]) : SPRINT_LENGTH;
+            int sprintCount = args.length > 2 ? Integer.parseInt(args[2]) : Integer.MAX_VALUE / sprintLength;
+            run(inputFileName, Paths.get(HORIZON_OUTPUT_DIRECTORY), sprintLength, sprintCount);
+        } catch (Exception e) {
+            LOGGER.error("Error processing the horizon: {}", e.getMessage(), e);
+        }
+    }
+
+    public static HorizonSchedule run(String inputFileName, Path outputDirectory, int sprintLength, int sprintCount)
+            throws IOException {
+        if (sprintLength < 1 || sprintCount < 1) {
+            throw new IllegalArgumentException("Sprint length and sprint count must be positive, found: "
+                    + sprintLength + " and " + sprintCount);
+        }
+        //day numbers are validated against the whole horizon instead of one sprint
+        int lastDay = (int) Math.min(Integer.MAX_VALUE, (long) sprintLength * sprintCount);
+        ReleaseTable releases = FileUtil.readReleaseTable(inputFileName, lastDay);
+        HorizonSchedule schedule = HorizonScheduler.schedule(releases, sprintLength);
+
+        Files.createDirectories(outputDirectory);
+        FileUtil.writeResultTableToFile(schedule.releasesWithoutShift(), outputDirectory.resolve(OUTPUT_FILE)
+                .toString());
+        FileUtil.writeResultTableToFile(schedule.releasesWithShift(), outputDirectory.resolve(BONUS_TASK_OUTPUT_FILE)
+                .toString());
+        writeSprints(schedule, outputDirectory.resolve(HORIZON_SPRINTS_FILE));
+        return schedule;
+    }
+
+    private static void writeSprints(HorizonSchedule schedule, Path sprintsFile) throws IOException {
+        try (ResultTableWriter writer = new ResultTableWriter(sprintsFile)) {
+            writer.writeLine(schedule.sprints().size());
+            for (HorizonSchedule.SprintResult sprint : schedule.sprints()) {
+                writer.writeRow(new int[]{sprint.sprint(), sprint.releases(), sprint.releasesWithoutShift().size(),
+                        sprint.releasesWithShift().size()});
+            }
+        }
+        LOGGER.info("Finished writing sprint results. File path: {}.", sprintsFile);
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.nda;
+
+import com.nda.common.ScheduleSummary;
+import com.nda.util.ReleaseGenerator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static com.nda.common.Constants.*;
+
+/**
+ * Generates reproducible synthetic inputs and runs {@link Runner}'s pipeline over them, to size hardware and to
+ * check how scheduling scales with the input.
+ * <pre>
+ * generate &lt;directory&gt; &lt;files&gt; &lt;rows&gt; [sprint length] [uniform|sprint-end] [uniform|heavy-tailed] [seed]
+ * run &lt;directory or glob&gt; [sprint length] [iterations]
+ * </pre>
+ * Generated files are named {@code releases-<n>.txt}, file n using seed + n. A run processes every file the given
+ * number of times, one after another, and reports throughput, latency percentiles and the peak heap usage.
+ */
+public class LoadTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(LoadTest.class);
+
+    private static final String GENERATE = "generate";
+    private static final String RUN = "run";
+    private static final String USAGE = "Usage: generate <directory> <files> <rows> [sprint length]"
+            + " [uniform|sprint-end] [uniform|heavy-tailed] [seed] | run <directory or glob> [sprint length]"
+            + " [iterations]";
+    private static final String LOAD_TEST_OUTPUT_DIRECTORY = "load-test";
+    private static final long DEFAULT_SEED = 42L;
+    private static final int DEFAULT_ITERATIONS = 5;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    public record LoadTestReport(int runs, long rows, long elapsedNanos, long[] latencyNanos, long peakHeapBytes) {
+
+        public double rowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : rows * NANOS_PER_SECOND / elapsedNanos;
+        }
+
+        public double runsPerSecond() {
+            return elapsedNanos == 0 ? 0 : runs * NANOS_PER_SECOND / elapsedNanos;
+        }
+
+        //nearest-rank percentile over the sorted latencies
+        public long latencyPercentileNanos(double percentile) {
+            if (latencyNanos.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * latencyNanos.length);
+            return latencyNanos[Math.max(0, rank - 1)];
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d runs, %d rows in %.1f ms: %.0f rows/s, %.2f runs/s; "
+                            + "latency p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms; peak heap %d MB",
+                    runs, rows, elapsedNanos / NANOS_PER_MILLI, rowsPerSecond(), runsPerSecond(),
+                    latencyPercentileNanos(50) / NANOS_PER_MILLI, latencyPercentileNanos(90) / NANOS_PER_MILLI,
+                    latencyPercentileNanos(99) / NANOS_PER_MILLI, latencyPercentileNanos(100) / NANOS_PER_MILLI,
+                    peakHeapBytes >> 20);
+        }
+
+    }
+
+    public static void main(String[] args) {
+        try {
+            if (args.length >= 4 && GENERATE.equals(args[0])) {
+                int sprintLength = args.length > 4 ? Integer.parseInt(args[4]) : SPRINT_LENGTH;
+                ReleaseGenerator.StartDays startDays = args.length > 5
+                        ? ReleaseGenerator.StartDays.valueOf(enumName(args[5]))
+                        : ReleaseGenerator.StartDays.UNIFORM;
+                ReleaseGenerator.Estimations estimations = args.length > 6
+                        ? ReleaseGenerator.Estimations.valueOf(enumName(args[6]))
+                        : ReleaseGenerator.Estimations.UNIFORM;
+                long seed = args.length > 7 ? Long.parseLong(args[7]) : DEFAULT_SEED;
+                generate(Paths.get(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]), sprintLength,
+                        startDays, estimations, seed);
+            } else if (args.length >= 2 && RUN.equals(args[0])) {
+                int sprintLength = args.length > 2 ? Integer.parseInt(args[2]) : SPRINT_LENGTH;
+                int iterations = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_ITERATIONS;
+                LoadTestReport report = run(args[1], Paths.get(BATCH_OUTPUT_DIRECTORY, LOAD_TEST_OUTPUT_DIRECTORY),
+                        sprintLength, iterations);
+                LOGGER.info("Load test finished: {}", report);
+            } else {
+                LOGGER.error(USAGE);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error running the load test: {}", e.getMessage(), e);
+        }
+    }
+
+    public static List<Path> generate(Path directory, int files, int rows, int sprintLength,
+                                      ReleaseGenerator.StartDays startDays,
+                                      ReleaseGenerator.Estimations estimations, long seed) throws IOException {
+        Path[] generatedFiles = new Path[files];
+        for (int file = 0; file < files; file++) {
+            generatedFiles[file] = directory.resolve("releases-" + file + ".txt");
+            ReleaseGenerator.generate(generatedFiles[file], rows, sprintLength, startDays, estimations, seed + file);
+        }
+        return Arrays.asList(generatedFiles);
+    }
+
+    public static LoadTestReport run(String inputPattern, Path outputDirectory, int sprintLength, int iterations)
+            throws IOException {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be positive, found: " + iterations);
+        }
+        List<Path> inputFiles = BatchRunner.resolveInputFiles(inputPattern);
+        String outputFile = outputDirectory.resolve(OUTPUT_FILE).toString();
+        String bonusOutputFile = outputDirectory.resolve(BONUS_TASK_OUTPUT_FILE).toString();
+        LOGGER.info("Running {} iterations over {} input files for {}.", iterations, inputFiles.size(), inputPattern);
+
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long[] latencyNanos = new long[iterations * inputFiles.size()];
+        long rows = 0;
+        int runs = 0;
+        long startTime = System.nanoTime();
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            for (Path inputFile : inputFiles) {
+                long runStartTime = System.nanoTime();
+                ScheduleSummary summary = Runner.processFile(inputFile.toString(), outputFile, bonusOutputFile,
+                        sprintLength);
+                latencyNanos[runs++] = System.nanoTime() - runStartTime;
+                rows += summary.releases();
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        //pools peak at different moments, so the sum is an upper bound of the heap actually in use at once
+        long peakHeapBytes = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        Arrays.sort(latencyNanos);
+        return new LoadTestReport(runs, rows, elapsedNanos, latencyNanos, peakHeapBytes);
+    }
+
+    private static String enumName(String argument) {
+        return argument.toUpperCase(Locale.ROOT).replace('-', '_');
+    }
+
+}
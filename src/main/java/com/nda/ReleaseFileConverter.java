@@ -0,0 +1,100 @@
+package com.nda;
+
+import com.nda.common.ReleaseTable;
+import com.nda.util.BinaryReleaseFormat;
+import com.nda.util.FileUtil;
+import com.nda.util.ResultTableWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static com.nda.common.Constants.SPRINT_LENGTH;
+
+/**
+ * Converts release tables between the text and the binary form.
+ * <pre>
+ * to-binary &lt;text file&gt; &lt;binary file&gt; [varint|fixed] [sprint length]
+ * to-text &lt;binary file&gt; &lt;text file&gt;
+ * </pre>
+ * Text files whose first line holds a single number are result tables (output/*.txt), others are input tables.
+ */
+public class ReleaseFileConverter {
+
+    private static final Logger LOGGER = LogManager.getLogger(ReleaseFileConverter.class);
+
+    private static final String TO_BINARY = "to-binary";
+    private static final String TO_TEXT = "to-text";
+    private static final String USAGE = "Usage: to-binary <text file> <binary file> [varint|fixed] [sprint length]"
+            + " | to-text <binary file> <text file>";
+
+    public static void main(String[] args) {
+        try {
+            if (args.length >= 3 && TO_BINARY.equals(args[0])) {
+                BinaryReleaseFormat.Encoding encoding = args.length > 3
+                        ? BinaryReleaseFormat.Encoding.valueOf(args[3].toUpperCase())
+                        : BinaryReleaseFormat.Encoding.VARINT;
+                int sprintLength = args.length > 4 ? Integer.parseInt(args[4]) : SPRINT_LENGTH;
+                toBinary(args[1], args[2], encoding, sprintLength);
+            } else if (args.length == 3 && TO_TEXT.equals(args[0])) {
+                toText(args[1], args[2]);
+            } else {
+                LOGGER.error(USAGE);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error converting the file: {}", e.getMessage(), e);
+        }
+    }
+
+    public static void toBinary(String textFileName, String binaryFileName, BinaryReleaseFormat.Encoding encoding,
+                                int sprintLength) throws IOException {
+        if (isResultTable(Paths.get(textFileName))) {
+            BinaryReleaseFormat.write(Paths.get(binaryFileName), FileUtil.readResultTable(textFileName, sprintLength),
+                    BinaryReleaseFormat.Kind.RESULT, encoding, sprintLength);
+        } else {
+            BinaryReleaseFormat.write(Paths.get(binaryFileName), FileUtil.readReleaseTable(textFileName, sprintLength),
+                    BinaryReleaseFormat.Kind.INPUT, encoding, sprintLength);
+        }
+        LOGGER.info("Converted {} to binary file {}.", textFileName, binaryFileName);
+    }
+
+    public static void toText(String binaryFileName, String textFileName) throws IOException {
+        Path binaryPath = Paths.get(binaryFileName);
+        BinaryReleaseFormat.Header header = BinaryReleaseFormat.readHeader(binaryPath);
+        ReleaseTable table = BinaryReleaseFormat.read(binaryPath);
+        if (header.kind() == BinaryReleaseFormat.Kind.RESULT) {
+            FileUtil.writeResultTableToFile(table, textFileName);
+        } else {
+            try (ResultTableWriter writer = new ResultTableWriter(Paths.get(textFileName))) {
+                for (int row = 0; row < table.size(); row++) {
+                    if (table.hasWeights()) {
+                        writer.writeRow(table.getStartDay(row), table.getFinish(row), table.getWeight(row));
+                    } else {
+                        writer.writeRow(table.getStartDay(row), table.getFinish(row));
+                    }
+                }
+            }
+        }
+        LOGGER.info("Converted {} to text file {}.", binaryFileName, textFileName);
+    }
+
+    //only the first non-empty line is read, the table itself is parsed once by the matching reader
+    private static boolean isResultTable(Path textFile) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(textFile, StandardCharsets.ISO_8859_1)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String trimmedLine = line.trim();
+                if (!trimmedLine.isEmpty()) {
+                    return trimmedLine.split("\\s+").length == 1;
+                }
+            }
+            return false;
+        }
+    }
+
+}
@@ -1,56 +1,282 @@
 package com.nda;
 
+import com.nda.common.LaneSchedule;
+import com.nda.common.ReleaseTable;
+import com.nda.common.ScheduleSummary;
+import com.nda.common.SprintSchedule;
+import com.nda.logic.MergedReleaseSelector;
 import com.nda.logic.ReleaseFinder;
+import com.nda.logic.ReleaseSorter;
+import com.nda.logic.StreamingReleaseSelector;
+import com.nda.util.MappedInputParser;
+import com.nda.metrics.Phase;
+import com.nda.metrics.PhaseScope;
+import com.nda.metrics.SchedulerMetrics;
+import com.nda.util.ExternalReleaseSorter;
 import com.nda.util.FileUtil;
-import com.nda.util.TableUtil;
+import com.nda.util.ResultCache;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
-import java.util.List;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static com.nda.common.Constants.*;
 
 public class Runner {
 
-    private static final Logger LOGGER = LogManager.getLogger(Runner.class);
+    private static final String LOGGER_CONTEXT_FACTORY_PROPERTY = "log4j2.loggerContextFactory";
+    private static final String SIMPLE_LOGGER_CONTEXT_FACTORY =
+            "org.apache.logging.log4j.simple.SimpleLoggerContextFactory";
+    private static final String SIMPLE_LOGGER_LEVEL_PROPERTY = "org.apache.logging.log4j.simplelog.level";
+    private static final String FAST_START_LOG_LEVEL = "WARN";
 
+    //no arguments: the single input file from Constants; one argument: a directory or glob of input files
     public static void main(String[] args) {
+        if (Boolean.getBoolean(FAST_START_PROPERTY)) {
+            useSimpleLogging();
+        }
         try {
-            List<String> inputFile = readInputFile();
-            List<int[]> inputTable = convertInputToTable(inputFile);
-            //main task
-            List<int[]> releasesWithoutShift = calculateMaxReleasesWithoutShiftPerSprint(inputTable);
-            writeOutputToFile(releasesWithoutShift, OUTPUT_FILE_NAME);
+            //improved schedules depend on the time budget, so they are not cached
+            ResultCache cache = Boolean.parseBoolean(System.getProperty(CACHE_PROPERTY, "true"))
+                    && Long.getLong(IMPROVE_MILLIS_PROPERTY, 0) <= 0
+                    ? new ResultCache(Paths.get(CACHE_DIRECTORY), CACHE_MAX_BYTES)
+                    : null;
+            if (args.length > 0) {
+                BatchRunner.run(args[0], BATCH_OUTPUT_DIRECTORY, SPRINT_LENGTH, cache);
+            } else if (Boolean.getBoolean(STREAMING_PROPERTY)) {
+                processFileStreaming(INPUT_FILE_NAME, OUTPUT_FILE_NAME, SPRINT_LENGTH);
+            } else if (Boolean.getBoolean(EXTERNAL_SORT_PROPERTY)) {
+                processFileExternally(INPUT_FILE_NAME, OUTPUT_FILE_NAME, BONUS_TASK_OUTPUT_FILE_NAME, SPRINT_LENGTH,
+                        Paths.get(System.getProperty("java.io.tmpdir")), EXTERNAL_SORT_RUN_SIZE);
+            } else {
+                processSingleFile(INPUT_FILE_NAME, OUTPUT_FILE_NAME, BONUS_TASK_OUTPUT_FILE_NAME,
+                        LANES_OUTPUT_FILE_NAME, WEIGHTED_OUTPUT_FILE_NAME, SPRINT_LENGTH, cache);
+            }
+        } catch (Exception e) {
+            logger().error("Error processing the file: {}", e.getMessage(), e);
+        }
+    }
 
-            //bonus task
-            List<int[]> releasesWithShift = calculateMaxReleasesWithShiftPerSprint(inputTable);
-            writeOutputToFile(releasesWithShift, BONUS_TASK_OUTPUT_FILE_NAME);
+    public static ScheduleSummary processFile(String inputFileName, String outputFileName,
+                                              String bonusOutputFileName, int sprintLength) throws IOException {
+        return processTable(readInputTable(inputFileName, sprintLength), outputFileName, bonusOutputFileName,
+                sprintLength);
+    }
 
-        } catch (Exception e) {
-            LOGGER.error("Error processing the file: {}", e.getMessage(), e);
+    private static ScheduleSummary processTable(ReleaseTable inputTable, String outputFileName,
+                                                String bonusOutputFileName, int sprintLength) throws IOException {
+        //main and bonus tasks share one filter pass and are solved and written concurrently
+        SprintSchedule schedule = calculateMaxReleasesPerSprint(inputTable, sprintLength);
+        writeOutputsToFiles(schedule, outputFileName, bonusOutputFileName);
+
+        return new ScheduleSummary(inputTable.size(), schedule.releasesWithoutShift().size(),
+                schedule.releasesWithShift().size());
+    }
+
+    /**
+     * Same as {@link #processFile(String, String, String, int)}, but an input already seen with this sprint length
+     * gets its stored results copied to the output files without being parsed or solved.
+     */
+    public static ScheduleSummary processFile(String inputFileName, String outputFileName,
+                                              String bonusOutputFileName, int sprintLength, ResultCache cache)
+            throws IOException {
+        return processFile(inputFileName, null, outputFileName, bonusOutputFileName, sprintLength, cache);
+    }
+
+    //inputTable is the parsed input file, or null to parse it only on a cache miss
+    private static ScheduleSummary processFile(String inputFileName, ReleaseTable inputTable, String outputFileName,
+                                               String bonusOutputFileName, int sprintLength, ResultCache cache)
+            throws IOException {
+        String fingerprint = ResultCache.fingerprint(Paths.get(inputFileName));
+        Optional<ResultCache.Entry> withoutShift = cache.restore(fingerprint, sprintLength,
+                ResultCache.Mode.WITHOUT_SHIFT, Paths.get(outputFileName));
+        Optional<ResultCache.Entry> withShift = withoutShift.isPresent()
+                ? cache.restore(fingerprint, sprintLength, ResultCache.Mode.WITH_SHIFT, Paths.get(bonusOutputFileName))
+                : Optional.empty();
+        if (withoutShift.isPresent() && withShift.isPresent()) {
+            logger().info("Results for {} were found in the cache.", inputFileName);
+            return new ScheduleSummary(withoutShift.get().releases(), withoutShift.get().selectedReleases(),
+                    withShift.get().selectedReleases());
         }
+
+        ScheduleSummary summary = inputTable != null
+                ? processTable(inputTable, outputFileName, bonusOutputFileName, sprintLength)
+                : processFile(inputFileName, outputFileName, bonusOutputFileName, sprintLength);
+        cache.store(fingerprint, sprintLength, ResultCache.Mode.WITHOUT_SHIFT,
+                new ResultCache.Entry(summary.releases(), summary.releasesWithoutShift()), Paths.get(outputFileName));
+        cache.store(fingerprint, sprintLength, ResultCache.Mode.WITH_SHIFT,
+                new ResultCache.Entry(summary.releases(), summary.releasesWithShift()), Paths.get(bonusOutputFileName));
+        return summary;
+    }
+
+    //both tasks, from the cache when it is given and holds them, then the modes enabled by system properties;
+    //the input is parsed at most once for all of them
+    static ScheduleSummary processSingleFile(String inputFileName, String outputFileName, String bonusOutputFileName,
+                                             String lanesOutputFileName, String weightedOutputFileName,
+                                             int sprintLength, ResultCache cache) throws IOException {
+        Integer lanes = Integer.getInteger(LANES_PROPERTY);
+        boolean weighted = Boolean.getBoolean(WEIGHTED_PROPERTY);
+        ReleaseTable inputTable = lanes != null || weighted ? readInputTable(inputFileName, sprintLength) : null;
+        ScheduleSummary summary;
+        if (cache != null) {
+            summary = processFile(inputFileName, inputTable, outputFileName, bonusOutputFileName, sprintLength, cache);
+        } else if (inputTable != null) {
+            summary = processTable(inputTable, outputFileName, bonusOutputFileName, sprintLength);
+        } else {
+            summary = processFile(inputFileName, outputFileName, bonusOutputFileName, sprintLength);
+        }
+        if (lanes != null) {
+            processTableWithLanes(inputTable, lanesOutputFileName, sprintLength, lanes);
+        }
+        if (weighted) {
+            processTableWeighted(inputTable, weightedOutputFileName, sprintLength);
+        }
+        return summary;
+    }
+
+    public static LaneSchedule processFileWithLanes(String inputFileName, String outputFileName, int sprintLength,
+                                                    int lanes) throws IOException {
+        return processTableWithLanes(readInputTable(inputFileName, sprintLength), outputFileName, sprintLength, lanes);
     }
 
-    //here and below I use files and sprint length as constants, but it can actually be parameterized if needed
-    private static List<String> readInputFile() throws IOException {
-        return FileUtil.readInputFile(INPUT_FILE_NAME);
+    private static LaneSchedule processTableWithLanes(ReleaseTable inputTable, String outputFileName,
+                                                      int sprintLength, int lanes) throws IOException {
+        LaneSchedule schedule = ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(inputTable, sprintLength, lanes);
+        FileUtil.writeLaneScheduleToFile(schedule, outputFileName);
+        return schedule;
     }
 
-    private static List<int[]> convertInputToTable(List<String> inputFile) {
-        return TableUtil.parseInputToTable(inputFile, SPRINT_LENGTH);
+    //releases with the largest total weight, taken from the optional third input column
+    public static ReleaseTable processFileWeighted(String inputFileName, String outputFileName, int sprintLength)
+            throws IOException {
+        return processTableWeighted(readInputTable(inputFileName, sprintLength), outputFileName, sprintLength);
     }
 
-    private static List<int[]> calculateMaxReleasesWithoutShiftPerSprint(List<int[]> inputTable) {
-        return ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(inputTable, SPRINT_LENGTH);
+    private static ReleaseTable processTableWeighted(ReleaseTable inputTable, String outputFileName,
+                                                     int sprintLength) throws IOException {
+        ReleaseTable selectedReleases = ReleaseFinder.findMaxWeightedReleasesPerSprint(inputTable, sprintLength);
+        writeOutputToFile(selectedReleases, outputFileName);
+        return selectedReleases;
     }
 
-    private static List<int[]> calculateMaxReleasesWithShiftPerSprint(List<int[]> inputTable) {
-        return ReleaseFinder.findMaxReleasesWithShiftPerSprint(inputTable, SPRINT_LENGTH);
+    /**
+     * Mode without ability to postpone testing only, reading the input one release at a time so memory is bounded
+     * by the sprint length instead of the input size.
+     */
+    public static ReleaseTable processFileStreaming(String inputFileName, String outputFileName, int sprintLength)
+            throws IOException {
+        StreamingReleaseSelector selector = new StreamingReleaseSelector(sprintLength);
+        MappedInputParser.parseInputFile(inputFileName, sprintLength, selector::add);
+        ReleaseTable selectedReleases = selector.select();
+        writeOutputToFile(selectedReleases, outputFileName);
+        logger().info("Selected {} of {} streamed releases.", selectedReleases.size(), selector.getReleases());
+        return selectedReleases;
     }
 
-    private static void writeOutputToFile(List<int[]> outputTable, String fileName) throws IOException {
+    /**
+     * Both modes for inputs larger than the heap: the input is streamed once into two external sorters, one per
+     * mode, which spill sorted runs of runSize releases to tempDirectory and merge them straight into the greedy
+     * selections. Without shift, releases with the same finish day are ordered by start day instead of input
+     * order, which can change the start days written but never the number of releases.
+     */
+    public static ScheduleSummary processFileExternally(String inputFileName, String outputFileName,
+                                                        String bonusOutputFileName, int sprintLength,
+                                                        Path tempDirectory, int runSize) throws IOException {
+        long[] releases = new long[1];
+        try (ExternalReleaseSorter byFinishDay = new ExternalReleaseSorter(tempDirectory, runSize);
+             ExternalReleaseSorter byEstimation = new ExternalReleaseSorter(tempDirectory, runSize)) {
+            MappedInputParser.parseInputFile(inputFileName, sprintLength, (startDay, estimation) -> {
+                releases[0]++;
+                if (ReleaseSorter.fitsSprint(startDay, estimation, sprintLength)) {
+                    byFinishDay.add(MergedReleaseSelector.finishDayKey(startDay, estimation));
+                    byEstimation.add(MergedReleaseSelector.estimationKey(startDay, estimation));
+                }
+            });
+            SchedulerMetrics.addFilteredOutRows(releases[0] - byFinishDay.size());
+            logger().info("Sorting {} releases externally in {} spilled runs per mode.", byFinishDay.size(),
+                    byFinishDay.getSpilledRuns());
+
+            PhaseScope selectPhase = SchedulerMetrics.begin(Phase.SELECT);
+            MergedReleaseSelector.WithoutShift withoutShift = new MergedReleaseSelector.WithoutShift();
+            byFinishDay.merge(withoutShift);
+            MergedReleaseSelector.WithShift withShift = new MergedReleaseSelector.WithShift(sprintLength);
+            byEstimation.merge(withShift);
+            SchedulerMetrics.addUnscheduledReleases(withShift.getUnscheduledReleases());
+            SprintSchedule schedule = new SprintSchedule(withoutShift.getSelectedReleases(),
+                    withShift.getSelectedReleases());
+            selectPhase.end(byFinishDay.size(), schedule.releasesWithoutShift().size());
+
+            writeOutputsToFiles(schedule, outputFileName, bonusOutputFileName);
+            return new ScheduleSummary((int) Math.min(Integer.MAX_VALUE, releases[0]),
+                    schedule.releasesWithoutShift().size(), schedule.releasesWithShift().size());
+        }
+    }
+
+    //must run before any class creates its logger; log4j-api's simple logger skips loading and configuring
+    //log4j-core, which is most of the run time for small inputs
+    private static void useSimpleLogging() {
+        if (System.getProperty(LOGGER_CONTEXT_FACTORY_PROPERTY) == null) {
+            System.setProperty(LOGGER_CONTEXT_FACTORY_PROPERTY, SIMPLE_LOGGER_CONTEXT_FACTORY);
+        }
+        if (System.getProperty(SIMPLE_LOGGER_LEVEL_PROPERTY) == null) {
+            System.setProperty(SIMPLE_LOGGER_LEVEL_PROPERTY, FAST_START_LOG_LEVEL);
+        }
+    }
+
+    //created on first use, so main can still choose the logging backend
+    private static Logger logger() {
+        return LoggerHolder.LOGGER;
+    }
+
+    private static ReleaseTable readInputTable(String inputFileName, int sprintLength) throws IOException {
+        return FileUtil.readReleaseTable(inputFileName, sprintLength);
+    }
+
+    //with -Dscheduler.improveMillis the bonus task schedule is improved by local search for that long; the
+    //improver computes the first fit itself, so it is not computed here as well
+    private static SprintSchedule calculateMaxReleasesPerSprint(ReleaseTable inputTable, int sprintLength) {
+        long improveMillis = Long.getLong(IMPROVE_MILLIS_PROPERTY, 0);
+        if (improveMillis <= 0) {
+            return ReleaseFinder.findMaxReleasesPerSprint(inputTable, sprintLength);
+        }
+        return new SprintSchedule(ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(inputTable, sprintLength),
+                ReleaseFinder.findImprovedReleasesWithShiftPerSprint(inputTable, sprintLength,
+                        Duration.ofMillis(improveMillis)));
+    }
+
+    private static void writeOutputsToFiles(SprintSchedule schedule, String outputFileName,
+                                            String bonusOutputFileName) throws IOException {
+        CompletableFuture<Void> bonusOutput = CompletableFuture.runAsync(() -> {
+            try {
+                writeOutputToFile(schedule.releasesWithShift(), bonusOutputFileName);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writeOutputToFile(schedule.releasesWithoutShift(), outputFileName);
+        try {
+            bonusOutput.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static void writeOutputToFile(ReleaseTable outputTable, String fileName) throws IOException {
         FileUtil.writeResultTableToFile(outputTable, fileName);
     }
 
+    private static class LoggerHolder {
+        private static final Logger LOGGER = LogManager.getLogger(Runner.class);
+    }
+
 }
@@ -0,0 +1,262 @@
+package com.nda;
+
+import com.nda.common.ReleaseTable;
+import com.nda.common.SprintSchedule;
+import com.nda.exception.InputValidationException;
+import com.nda.logic.ReleaseFinder;
+import com.nda.logic.ReleaseSchedulingEngine;
+import com.nda.metrics.SchedulerMetrics;
+import com.nda.util.MappedInputParser;
+import com.nda.util.ResultTableWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static com.nda.common.Constants.*;
+
+/**
+ * Long-running scheduling service, so repeated calls skip JVM startup and run on already compiled code.
+ * <p>
+ * {@code POST /schedule?sprintLength=N} takes a release table in the input file format as the body and answers
+ * with the output.txt table followed by the bonus_output.txt table, each starting with its row count. Invalid
+ * input is answered with 400 and the same message the file mode reports.
+ * <p>
+ * Requests are solved by a {@link ReleaseSchedulingEngine} per sprint length, whose pooled buffers are reused by
+ * the next request whatever thread it runs on. Only the first few sprint lengths get an engine, later ones are
+ * solved by {@link ReleaseFinder}, so clients cannot grow the set of engines without bound. The engines share one
+ * cap of a scratch per core on the buffers they pool, and do not pool buffers grown by an unusually large body.
+ * <p>
+ * The server listens on the loopback interface unless given another address. Memory per request is bounded:
+ * sprint lengths above a maximum are answered with 400, and bodies above a maximum size with 413.
+ */
+public class SchedulingServer {
+
+    private static final Logger LOGGER = LogManager.getLogger(SchedulingServer.class);
+
+    private static final String SCHEDULE_PATH = "/schedule";
+    private static final String SPRINT_LENGTH_PARAMETER = "sprintLength=";
+    private static final String POST = "POST";
+    private static final int OK = 200;
+    private static final int BAD_REQUEST = 400;
+    private static final int METHOD_NOT_ALLOWED = 405;
+    private static final int PAYLOAD_TOO_LARGE = 413;
+    private static final int INTERNAL_ERROR = 500;
+    private static final int CHUNKED = 0;
+    private static final int BACKLOG = 128;
+    private static final int WARM_UP_ROUNDS = 5;
+    private static final int WARM_UP_ROWS = 100_000;
+    private static final int WARM_UP_SPRINT_LENGTH = 1000;
+    private static final int MAX_ENGINES = 16;
+    private static final int MAX_POOLED_SCRATCHES = Runtime.getRuntime().availableProcessors();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int maxSprintLength;
+    private final int maxBodyBytes;
+    private final Map<Integer, ReleaseSchedulingEngine> engines = new ConcurrentHashMap<>();
+    private final Semaphore poolPermits = new Semaphore(MAX_POOLED_SCRATCHES);
+
+    private SchedulingServer(HttpServer server, ExecutorService executor, int maxSprintLength, int maxBodyBytes) {
+        this.server = server;
+        this.executor = executor;
+        this.maxSprintLength = maxSprintLength;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    //arguments: [port] [bind address], e.g. 8080 0.0.0.0 to accept requests from other hosts
+    public static void main(String[] args) {
+        try {
+            int port = args.length > 0 ? Integer.parseInt(args[0]) : SERVER_PORT;
+            InetAddress bindAddress = args.length > 1
+                    ? InetAddress.getByName(args[1])
+                    : InetAddress.getLoopbackAddress();
+            warmUp();
+            SchedulingServer schedulingServer = start(new InetSocketAddress(bindAddress, port),
+                    SERVER_MAX_SPRINT_LENGTH, SERVER_MAX_BODY_BYTES);
+            Runtime.getRuntime().addShutdownHook(new Thread(schedulingServer::stop));
+        } catch (Exception e) {
+            LOGGER.error("Error starting the scheduling server: {}", e.getMessage(), e);
+        }
+    }
+
+    //listens on the loopback interface with the default request limits
+    public static SchedulingServer start(int port) throws IOException {
+        return start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), SERVER_MAX_SPRINT_LENGTH,
+                SERVER_MAX_BODY_BYTES);
+    }
+
+    public static SchedulingServer start(InetSocketAddress address, int maxSprintLength, int maxBodyBytes)
+            throws IOException {
+        SchedulerMetrics.registerMBean();
+        HttpServer server = HttpServer.create(address, BACKLOG);
+        ExecutorService executor = newRequestExecutor();
+        server.setExecutor(executor);
+        SchedulingServer schedulingServer = new SchedulingServer(server, executor, maxSprintLength, maxBodyBytes);
+        server.createContext(SCHEDULE_PATH, schedulingServer::handleSchedule);
+        server.start();
+        LOGGER.info("Scheduling server is listening on {}.", server.getAddress());
+        return schedulingServer;
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        LOGGER.info("Scheduling server stopped.");
+    }
+
+    //runs both modes through an engine lease, the path requests take, so the first ones already hit compiled code
+    static void warmUp() {
+        SplittableRandom random = new SplittableRandom(WARM_UP_ROWS);
+        ReleaseTable releases = new ReleaseTable(WARM_UP_ROWS);
+        for (int row = 0; row < WARM_UP_ROWS; row++) {
+            releases.add(1 + random.nextInt(WARM_UP_SPRINT_LENGTH), 1 + random.nextInt(WARM_UP_SPRINT_LENGTH / 10));
+        }
+        ReleaseSchedulingEngine engine = new ReleaseSchedulingEngine(WARM_UP_SPRINT_LENGTH, 1);
+        for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+            try (ReleaseSchedulingEngine.Lease lease = engine.acquire()) {
+                lease.findMaxReleasesPerSprint(releases);
+            }
+        }
+    }
+
+    //virtual threads need JDK 21; older runtimes get a pool sized to the cores, as scheduling is CPU bound
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    private void handleSchedule(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!POST.equals(exchange.getRequestMethod())) {
+                sendText(exchange, METHOD_NOT_ALLOWED, "Only POST is supported.");
+                return;
+            }
+            ReleaseTable releases;
+            int sprintLength;
+            try {
+                sprintLength = parseSprintLength(exchange.getRequestURI().getRawQuery());
+                if (sprintLength > maxSprintLength) {
+                    sendText(exchange, BAD_REQUEST, "Sprint length must be at most " + maxSprintLength +
+                            ", found: " + sprintLength);
+                    return;
+                }
+                ByteBuffer body = readBody(exchange);
+                if (body == null) {
+                    sendText(exchange, PAYLOAD_TOO_LARGE, "Request body must be at most " + maxBodyBytes +
+                            " bytes.");
+                    return;
+                }
+                releases = MappedInputParser.parseInputTable(body, sprintLength);
+            } catch (InputValidationException | NumberFormatException e) {
+                sendText(exchange, BAD_REQUEST, e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                sendInternalError(exchange, e);
+                return;
+            }
+
+            ReleaseSchedulingEngine engine = engineFor(sprintLength);
+            //the pooled result tables stay valid until the lease is closed, after the response is written
+            try (ReleaseSchedulingEngine.Lease lease = engine != null ? engine.acquire() : null) {
+                SprintSchedule schedule;
+                try {
+                    schedule = lease != null
+                            ? lease.findMaxReleasesPerSprint(releases)
+                            : ReleaseFinder.findMaxReleasesPerSprint(releases, sprintLength);
+                } catch (RuntimeException e) {
+                    sendInternalError(exchange, e);
+                    return;
+                }
+                sendSchedule(exchange, schedule);
+            }
+        }
+    }
+
+    //null once MAX_ENGINES sprint lengths have an engine and this one does not
+    private ReleaseSchedulingEngine engineFor(int sprintLength) {
+        ReleaseSchedulingEngine engine = engines.get(sprintLength);
+        if (engine == null && engines.size() < MAX_ENGINES) {
+            engine = engines.computeIfAbsent(sprintLength, length ->
+                    new ReleaseSchedulingEngine(length, MAX_POOLED_SCRATCHES, ENGINE_MAX_POOLED_ROWS, poolPermits));
+        }
+        return engine;
+    }
+
+    private static void sendSchedule(HttpExchange exchange, SprintSchedule schedule) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(OK, CHUNKED);
+        try (ResultTableWriter writer = new ResultTableWriter(Channels.newChannel(exchange.getResponseBody()))) {
+            writeTable(writer, schedule.releasesWithoutShift());
+            writeTable(writer, schedule.releasesWithShift());
+        }
+    }
+
+    //null when the declared or the actual body is larger than allowed; reads at most one byte past the limit
+    private ByteBuffer readBody(HttpExchange exchange) throws IOException {
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (contentLength != null && Long.parseLong(contentLength.trim()) > maxBodyBytes) {
+            return null;
+        }
+        byte[] body = exchange.getRequestBody().readNBytes(maxBodyBytes + 1);
+        return body.length > maxBodyBytes ? null : ByteBuffer.wrap(body);
+    }
+
+    private static int parseSprintLength(String query) {
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.startsWith(SPRINT_LENGTH_PARAMETER)) {
+                    return Integer.parseInt(parameter.substring(SPRINT_LENGTH_PARAMETER.length()));
+                }
+            }
+        }
+        return SPRINT_LENGTH;
+    }
+
+    private static void writeTable(ResultTableWriter writer, ReleaseTable table) throws IOException {
+        writer.writeLine(table.size());
+        for (int row = 0; row < table.size(); row++) {
+            writer.writeRow(table.getStartDay(row), table.getFinish(row));
+        }
+    }
+
+    private static void sendInternalError(HttpExchange exchange, RuntimeException e) throws IOException {
+        LOGGER.error("Error scheduling a request: {}", e.getMessage(), e);
+        sendText(exchange, INTERNAL_ERROR, "Internal error.");
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+}
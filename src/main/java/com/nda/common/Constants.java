@@ -3,8 +3,11 @@ package com.nda.common;
 public class Constants {
 
     public static final int NUM_COLUMNS = 2;
+    public static final int WEIGHTED_NUM_COLUMNS = 3;
     public static final int START_DAY_INDEX = 0;
     public static final int FINISH_INDEX = 1;
+    public static final int WEIGHT_INDEX = 2;
+    public static final int DEFAULT_WEIGHT = 1;
 
     public static final int SPRINT_LENGTH = 10;
     public static final int SPRINT_START_DAY = 1;
@@ -12,5 +15,33 @@ public class Constants {
     public static final String INPUT_FILE_NAME = "input/releases.txt";
     public static final String OUTPUT_FILE_NAME = "output/output.txt";
     public static final String BONUS_TASK_OUTPUT_FILE_NAME = "output/bonus_output.txt";
+    public static final String LANES_OUTPUT_FILE_NAME = "output/lanes_output.txt";
+    public static final String LANES_PROPERTY = "scheduler.lanes";
+    public static final String WEIGHTED_OUTPUT_FILE_NAME = "output/weighted_output.txt";
+    public static final String WEIGHTED_PROPERTY = "scheduler.weighted";
+
+    public static final String BATCH_OUTPUT_DIRECTORY = "output";
+    public static final String OUTPUT_FILE = "output.txt";
+    public static final String BONUS_TASK_OUTPUT_FILE = "bonus_output.txt";
+    public static final String BATCH_SUMMARY_FILE = "summary.txt";
+
+    public static final String HORIZON_OUTPUT_DIRECTORY = "output/horizon";
+    public static final String HORIZON_SPRINTS_FILE = "sprints.txt";
+
+    public static final int SERVER_PORT = 8080;
+    public static final int SERVER_MAX_SPRINT_LENGTH = 1_000_000;
+    public static final int SERVER_MAX_BODY_BYTES = 64 << 20;
+    public static final int ENGINE_MAX_POOLED_ROWS = 1 << 20;
+
+    public static final String FAST_START_PROPERTY = "scheduler.fastStart";
+
+    public static final String STREAMING_PROPERTY = "scheduler.streaming";
+    public static final String EXTERNAL_SORT_PROPERTY = "scheduler.externalSort";
+    public static final int EXTERNAL_SORT_RUN_SIZE = 1 << 22;
+    public static final String IMPROVE_MILLIS_PROPERTY = "scheduler.improveMillis";
+
+    public static final String CACHE_PROPERTY = "scheduler.cache";
+    public static final String CACHE_DIRECTORY = ".release-cache";
+    public static final long CACHE_MAX_BYTES = 256L << 20;
 
 }
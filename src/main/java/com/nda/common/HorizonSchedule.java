@@ -0,0 +1,33 @@
+package com.nda.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Results of consecutive sprints of {@code sprintLength} days, only for the sprints that had releases, ordered by
+ * sprint. Sprint n, numbered from 1, covers days (n - 1) * sprintLength + 1 to n * sprintLength.
+ */
+public record HorizonSchedule(int sprintLength, List<SprintResult> sprints) {
+
+    //releases counts every release starting in the sprint, including those that do not fit it
+    public record SprintResult(int sprint, int releases, ReleaseTable releasesWithoutShift,
+                               ReleaseTable releasesWithShift) {
+    }
+
+    public ReleaseTable releasesWithoutShift() {
+        List<ReleaseTable> tables = new ArrayList<>(sprints.size());
+        for (SprintResult sprint : sprints) {
+            tables.add(sprint.releasesWithoutShift());
+        }
+        return ReleaseTable.concat(tables);
+    }
+
+    public ReleaseTable releasesWithShift() {
+        List<ReleaseTable> tables = new ArrayList<>(sprints.size());
+        for (SprintResult sprint : sprints) {
+            tables.add(sprint.releasesWithShift());
+        }
+        return ReleaseTable.concat(tables);
+    }
+
+}
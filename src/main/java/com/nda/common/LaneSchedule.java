@@ -0,0 +1,17 @@
+package com.nda.common;
+
+/**
+ * Releases tested across several testers: {@code releases} holds [start day, finish day] rows ordered by finish day
+ * and {@code lanes[row]} the tester, numbered from 1, that tests that row.
+ */
+public record LaneSchedule(ReleaseTable releases, int[] lanes, int laneCount) {
+
+    public int getLane(int row) {
+        return lanes[row];
+    }
+
+    public int size() {
+        return releases.size();
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.nda.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.nda.common.Constants.*;
+
+/**
+ * Columnar release table backed by two parallel int arrays instead of one int[] per release.
+ * The second column holds the estimation for input tables and the finish day for result tables,
+ * the same way {@link Constants#FINISH_INDEX} does for {@code List<int[]>} rows. A weight column is allocated only
+ * once a weighted row is added; until then every row weighs {@link Constants#DEFAULT_WEIGHT}.
+ */
+public class ReleaseTable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] startDays;
+    private int[] finishes;
+    //null while no row carries a weight
+    private int[] weights;
+    private int size;
+
+    public ReleaseTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ReleaseTable(int capacity) {
+        startDays = new int[capacity];
+        finishes = new int[capacity];
+    }
+
+    //adopts the given columns without copying, rows beyond size are ignored
+    public static ReleaseTable of(int[] startDays, int[] finishes, int size) {
+        ReleaseTable table = new ReleaseTable(0);
+        table.startDays = startDays;
+        table.finishes = finishes;
+        table.size = size;
+        return table;
+    }
+
+    //adopts the given columns without copying, rows beyond size are ignored
+    public static ReleaseTable of(int[] startDays, int[] finishes, int[] weights, int size) {
+        ReleaseTable table = of(startDays, finishes, size);
+        table.weights = weights;
+        return table;
+    }
+
+    //rows with a third column keep it as their weight
+    public static ReleaseTable fromList(List<int[]> releases) {
+        ReleaseTable table = new ReleaseTable(releases.size());
+        for (int[] release : releases) {
+            if (release.length > WEIGHT_INDEX) {
+                table.add(release[START_DAY_INDEX], release[FINISH_INDEX], release[WEIGHT_INDEX]);
+            } else {
+                table.add(release[START_DAY_INDEX], release[FINISH_INDEX]);
+            }
+        }
+        return table;
+    }
+
+    //one table holding the rows of all given tables in order
+    public static ReleaseTable concat(List<ReleaseTable> tables) {
+        int size = 0;
+        for (ReleaseTable table : tables) {
+            size += table.size;
+        }
+        ReleaseTable result = new ReleaseTable(size);
+        if (tables.stream().anyMatch(ReleaseTable::hasWeights)) {
+            result.weights = new int[size];
+        }
+        for (ReleaseTable table : tables) {
+            System.arraycopy(table.startDays, 0, result.startDays, result.size, table.size);
+            System.arraycopy(table.finishes, 0, result.finishes, result.size, table.size);
+            if (table.hasWeights()) {
+                System.arraycopy(table.weights, 0, result.weights, result.size, table.size);
+            } else if (result.hasWeights()) {
+                Arrays.fill(result.weights, result.size, result.size + table.size, DEFAULT_WEIGHT);
+            }
+            result.size += table.size;
+        }
+        return result;
+    }
+
+    public void add(int startDay, int finish) {
+        if (size == startDays.length) {
+            grow();
+        }
+        startDays[size] = startDay;
+        finishes[size] = finish;
+        if (weights != null) {
+            weights[size] = DEFAULT_WEIGHT;
+        }
+        size++;
+    }
+
+    public void add(int startDay, int finish, int weight) {
+        if (weights == null) {
+            weights = new int[startDays.length];
+            Arrays.fill(weights, 0, size, DEFAULT_WEIGHT);
+        }
+        add(startDay, finish);
+        weights[size - 1] = weight;
+    }
+
+    public int getStartDay(int row) {
+        return startDays[row];
+    }
+
+    public int getFinish(int row) {
+        return finishes[row];
+    }
+
+    public int getWeight(int row) {
+        return weights == null ? DEFAULT_WEIGHT : weights[row];
+    }
+
+    public boolean hasWeights() {
+        return weights != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+        weights = null;
+    }
+
+    public List<int[]> toList() {
+        List<int[]> releases = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            releases.add(new int[]{startDays[row], finishes[row]});
+        }
+        return releases;
+    }
+
+    private void grow() {
+        int capacity = Math.max(DEFAULT_CAPACITY, startDays.length + (startDays.length >> 1));
+        startDays = Arrays.copyOf(startDays, capacity);
+        finishes = Arrays.copyOf(finishes, capacity);
+        if (weights != null) {
+            weights = Arrays.copyOf(weights, capacity);
+        }
+    }
+
+}
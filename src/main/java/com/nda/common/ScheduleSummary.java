@@ -0,0 +1,4 @@
+package com.nda.common;
+
+public record ScheduleSummary(int releases, int releasesWithoutShift, int releasesWithShift) {
+}
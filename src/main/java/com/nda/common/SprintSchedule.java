@@ -0,0 +1,4 @@
+package com.nda.common;
+
+public record SprintSchedule(ReleaseTable releasesWithoutShift, ReleaseTable releasesWithShift) {
+}
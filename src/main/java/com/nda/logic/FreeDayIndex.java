@@ -0,0 +1,191 @@
+package com.nda.logic;
+
+import static com.nda.common.Constants.SPRINT_START_DAY;
+
+/**
+ * Segment tree over the sprint days that keeps, per node, the longest free run plus the free runs touching
+ * its left and right edge. Answers "earliest free run of a given length starting at or after a day" and
+ * reserves or frees day ranges in O(log sprintLength).
+ */
+public class FreeDayIndex {
+
+    public static final int NOT_FOUND = -1;
+
+    private static final byte NO_UPDATE = 0;
+    private static final byte OCCUPY = 1;
+    private static final byte FREE = 2;
+    private static final int ROOT = 1;
+
+    private final int sprintLength;
+    private final int leafCount;
+    private final int[] prefixFree;
+    private final int[] suffixFree;
+    private final int[] maxFree;
+    private final byte[] pending;
+
+    //free run length carried from the nodes already visited by a search
+    private int carriedRun;
+
+    public FreeDayIndex(int sprintLength) {
+        if (sprintLength < 1) {
+            throw new IllegalArgumentException("Sprint length must be positive, found: " + sprintLength);
+        }
+        this.sprintLength = sprintLength;
+        int leaves = 1;
+        while (leaves < sprintLength) {
+            leaves <<= 1;
+        }
+        leafCount = leaves;
+        prefixFree = new int[2 * leafCount];
+        suffixFree = new int[2 * leafCount];
+        maxFree = new int[2 * leafCount];
+        pending = new byte[2 * leafCount];
+        clear();
+    }
+
+    public int getSprintLength() {
+        return sprintLength;
+    }
+
+    //marks every sprint day free again; days past the sprint end stay occupied so no run can cross it
+    public void clear() {
+        build(ROOT, SPRINT_START_DAY, leafCount);
+    }
+
+    public int findEarliestFreeRun(int fromDay, int length) {
+        if (length < 1 || length > sprintLength) {
+            return NOT_FOUND;
+        }
+        carriedRun = 0;
+        return find(ROOT, SPRINT_START_DAY, leafCount, Math.max(fromDay, SPRINT_START_DAY), length);
+    }
+
+    public boolean isFree(int startDay, int length) {
+        if (startDay < SPRINT_START_DAY || length < 1) {
+            return false;
+        }
+        return findEarliestFreeRun(startDay, length) == startDay;
+    }
+
+    public void occupy(int startDay, int length) {
+        update(startDay, length, OCCUPY);
+    }
+
+    public void release(int startDay, int length) {
+        update(startDay, length, FREE);
+    }
+
+    private void update(int startDay, int length, byte action) {
+        int finishDay = startDay + length - 1;
+        if (startDay < SPRINT_START_DAY || length < 1 || finishDay > sprintLength) {
+            throw new IllegalArgumentException("Days " + startDay + ".." + finishDay +
+                    " are outside of the sprint 1.." + sprintLength);
+        }
+        update(ROOT, SPRINT_START_DAY, leafCount, startDay, finishDay, action);
+    }
+
+    private void build(int node, int firstDay, int length) {
+        pending[node] = NO_UPDATE;
+        if (length == 1) {
+            int free = firstDay <= sprintLength ? 1 : 0;
+            prefixFree[node] = free;
+            suffixFree[node] = free;
+            maxFree[node] = free;
+            return;
+        }
+        int half = length >> 1;
+        build(2 * node, firstDay, half);
+        build(2 * node + 1, firstDay + half, half);
+        pull(node, length);
+    }
+
+    private void update(int node, int firstDay, int length, int from, int to, byte action) {
+        int lastDay = firstDay + length - 1;
+        if (to < firstDay || from > lastDay) {
+            return;
+        }
+        if (from <= firstDay && lastDay <= to) {
+            apply(node, length, action);
+            return;
+        }
+        push(node, length);
+        int half = length >> 1;
+        update(2 * node, firstDay, half, from, to, action);
+        update(2 * node + 1, firstDay + half, half, from, to, action);
+        pull(node, length);
+    }
+
+    //visits the nodes covering [fromDay, end] left to right, carrying the free run that reaches into each one
+    private int find(int node, int firstDay, int length, int fromDay, int runLength) {
+        int lastDay = firstDay + length - 1;
+        if (lastDay < fromDay) {
+            return NOT_FOUND;
+        }
+        if (firstDay >= fromDay) {
+            if (carriedRun + prefixFree[node] >= runLength) {
+                return firstDay - carriedRun;
+            }
+            if (maxFree[node] >= runLength) {
+                return descend(node, firstDay, length, runLength);
+            }
+            carriedRun = maxFree[node] == length ? carriedRun + length : suffixFree[node];
+            return NOT_FOUND;
+        }
+        push(node, length);
+        int half = length >> 1;
+        int found = find(2 * node, firstDay, half, fromDay, runLength);
+        if (found != NOT_FOUND) {
+            return found;
+        }
+        return find(2 * node + 1, firstDay + half, half, fromDay, runLength);
+    }
+
+    //leftmost run fully inside a node known to contain one
+    private int descend(int node, int firstDay, int length, int runLength) {
+        while (length > 1) {
+            push(node, length);
+            int half = length >> 1;
+            int left = 2 * node;
+            int right = left + 1;
+            if (maxFree[left] >= runLength) {
+                node = left;
+            } else if (suffixFree[left] + prefixFree[right] >= runLength) {
+                return firstDay + half - suffixFree[left];
+            } else {
+                node = right;
+                firstDay += half;
+            }
+            length = half;
+        }
+        return firstDay;
+    }
+
+    private void apply(int node, int length, byte action) {
+        int free = action == FREE ? length : 0;
+        prefixFree[node] = free;
+        suffixFree[node] = free;
+        maxFree[node] = free;
+        pending[node] = action;
+    }
+
+    private void push(int node, int length) {
+        byte action = pending[node];
+        if (action == NO_UPDATE) {
+            return;
+        }
+        int half = length >> 1;
+        apply(2 * node, half, action);
+        apply(2 * node + 1, half, action);
+        pending[node] = NO_UPDATE;
+    }
+
+    private void pull(int node, int length) {
+        int half = length >> 1;
+        int left = 2 * node;
+        int right = left + 1;
+        prefixFree[node] = prefixFree[left] == half ? half + prefixFree[right] : prefixFree[left];
+        suffixFree[node] = suffixFree[right] == half ? half + suffixFree[left] : suffixFree[right];
+        maxFree[node] = Math.max(Math.max(maxFree[left], maxFree[right]), suffixFree[left] + prefixFree[right]);
+    }
+
+}
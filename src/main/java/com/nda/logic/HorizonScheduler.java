@@ -0,0 +1,97 @@
+package com.nda.logic;
+
+import com.nda.common.HorizonSchedule;
+import com.nda.common.ReleaseTable;
+import com.nda.metrics.Phase;
+import com.nda.metrics.PhaseScope;
+import com.nda.metrics.SchedulerMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Schedules a horizon of consecutive sprints: releases are grouped by the sprint their start day falls in, and
+ * every sprint is solved on its own, in parallel, by {@link SparseReleaseScheduler}. A release must finish within
+ * the sprint it starts in. Memory follows the number of releases, so day numbers may go up to
+ * Integer.MAX_VALUE and sprints without releases cost nothing.
+ */
+public final class HorizonScheduler {
+
+    private static final Logger LOGGER = LogManager.getLogger(HorizonScheduler.class);
+
+    private static final long LOW_BITS = 0xFFFF_FFFFL;
+
+    private HorizonScheduler() {
+    }
+
+    public static HorizonSchedule schedule(ReleaseTable releases, int sprintLength) {
+        if (sprintLength < 1) {
+            throw new IllegalArgumentException("Sprint length must be positive, found: " + sprintLength);
+        }
+        LOGGER.info("Scheduling {} releases over a horizon of {}-day sprints...", releases.size(), sprintLength);
+
+        PhaseScope sortPhase = SchedulerMetrics.begin(Phase.SORT);
+        List<SprintReleases> sprints = partitionBySprint(releases, sprintLength);
+        sortPhase.end(releases.size(), sprints.size());
+
+        PhaseScope selectPhase = SchedulerMetrics.begin(Phase.SELECT);
+        List<HorizonSchedule.SprintResult> results = sprints.parallelStream()
+                .map(sprint -> solve(sprint, sprintLength))
+                .collect(Collectors.toList());
+        HorizonSchedule schedule = new HorizonSchedule(sprintLength, results);
+        selectPhase.end(releases.size(), schedule.releasesWithoutShift().size());
+
+        LOGGER.info("Scheduled {} sprints with releases.", results.size());
+        return schedule;
+    }
+
+    //first day of a sprint numbered from 1; long as the sprint after the last full one starts past Integer.MAX_VALUE
+    public static long firstDay(int sprint, int sprintLength) {
+        return (long) (sprint - 1) * sprintLength + 1;
+    }
+
+    private record SprintReleases(int sprint, ReleaseTable releases) {
+    }
+
+    //sorting (sprint, row) keys keeps every sprint's releases in input order
+    private static List<SprintReleases> partitionBySprint(ReleaseTable releases, int sprintLength) {
+        long[] keys = new long[releases.size()];
+        for (int row = 0; row < releases.size(); row++) {
+            long sprint = (releases.getStartDay(row) - 1L) / sprintLength + 1;
+            keys[row] = sprint << Integer.SIZE | row;
+        }
+        Arrays.sort(keys);
+
+        List<SprintReleases> sprints = new ArrayList<>();
+        int from = 0;
+        while (from < keys.length) {
+            int sprint = (int) (keys[from] >>> Integer.SIZE);
+            int to = from;
+            while (to < keys.length && (int) (keys[to] >>> Integer.SIZE) == sprint) {
+                to++;
+            }
+            ReleaseTable sprintReleases = new ReleaseTable(to - from);
+            for (int i = from; i < to; i++) {
+                int row = (int) (keys[i] & LOW_BITS);
+                sprintReleases.add(releases.getStartDay(row), releases.getFinish(row));
+            }
+            sprints.add(new SprintReleases(sprint, sprintReleases));
+            from = to;
+        }
+        return sprints;
+    }
+
+    private static HorizonSchedule.SprintResult solve(SprintReleases sprint, int sprintLength) {
+        long firstDay = firstDay(sprint.sprint(), sprintLength);
+        int lastDay = (int) Math.min(Integer.MAX_VALUE, firstDay + sprintLength - 1);
+        ReleaseTable withoutShift = SparseReleaseScheduler.selectWithoutShift(sprint.releases(), (int) firstDay,
+                lastDay);
+        ReleaseTable withShift = SparseReleaseScheduler.selectWithShift(sprint.releases(), (int) firstDay, lastDay);
+        return new HorizonSchedule.SprintResult(sprint.sprint(), sprint.releases().size(), withoutShift, withShift);
+    }
+
+}
@@ -0,0 +1,191 @@
+package com.nda.logic;
+
+import com.nda.common.ReleaseTable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static com.nda.common.Constants.SPRINT_START_DAY;
+
+/**
+ * Stateful version of {@link ReleaseFinder#findMaxReleasesWithoutShiftPerSprint(ReleaseTable, int)} that keeps
+ * the maximum set of non-overlapping releases up to date while releases are added and removed.
+ * <p>
+ * The greedy picks, after the last selected finish day x, the release with the earliest finish among those starting
+ * after x. A segment tree over start days answers that in O(log sprintLength). An edit only changes the greedy chain
+ * from the step it affects until the new chain meets the old one again past the edited release, so only that part
+ * is recomputed. Not thread-safe.
+ */
+public class IncrementalReleaseScheduler {
+
+    private static final int FULL_DAY_CORRECTION = 1;
+    private static final long NONE = Long.MAX_VALUE;
+    private static final int NO_POINT = 0;
+
+    private final int sprintLength;
+    private final int leafCount;
+    //min of (finish day, start day) keys per start day, so the root answers "earliest finish starting after x"
+    private final long[] earliestFinish;
+    //every current release as (start day, finish day) -> number of identical releases
+    private final NavigableMap<Long, Integer> releases = new TreeMap<>();
+    //selected releases as finish day -> start day, the greedy chain in finish order
+    private final NavigableMap<Integer, Integer> selected = new TreeMap<>();
+
+    public IncrementalReleaseScheduler(int sprintLength) {
+        if (sprintLength < 1) {
+            throw new IllegalArgumentException("Sprint length must be positive, found: " + sprintLength);
+        }
+        this.sprintLength = sprintLength;
+        int leaves = 1;
+        while (leaves < sprintLength + FULL_DAY_CORRECTION) {
+            leaves <<= 1;
+        }
+        leafCount = leaves;
+        earliestFinish = new long[2 * leafCount];
+        Arrays.fill(earliestFinish, NONE);
+    }
+
+    public void addAll(ReleaseTable releaseTable) {
+        for (int row = 0; row < releaseTable.size(); row++) {
+            insert(releaseTable.getStartDay(row), releaseTable.getFinish(row));
+        }
+        reselectFrom(NO_POINT, Integer.MAX_VALUE);
+    }
+
+    public void add(int startDay, int estimation) {
+        insert(startDay, estimation);
+        int finishDay = finishDay(startDay, estimation);
+        if (finishDay <= sprintLength) {
+            Integer previousPoint = selected.lowerKey(finishDay);
+            reselectFrom(previousPoint == null ? NO_POINT : previousPoint, startDay);
+        }
+    }
+
+    /**
+     * Removes one release with the given start day and estimation.
+     *
+     * @return false if there is no such release
+     */
+    public boolean remove(int startDay, int estimation) {
+        validateRelease(startDay, estimation);
+        long releaseKey = releaseKey(startDay, finishDay(startDay, estimation));
+        Integer count = releases.get(releaseKey);
+        if (count == null) {
+            return false;
+        }
+        if (count > 1) {
+            releases.put(releaseKey, count - 1);
+            return true;
+        }
+        releases.remove(releaseKey);
+        int finishDay = finishDay(startDay, estimation);
+        if (finishDay > sprintLength) {
+            return true;
+        }
+        updateLeaf(startDay);
+        Integer selectedStart = selected.get(finishDay);
+        if (selectedStart != null && selectedStart == startDay) {
+            Integer previousPoint = selected.lowerKey(finishDay);
+            reselectFrom(previousPoint == null ? NO_POINT : previousPoint, startDay);
+        }
+        return true;
+    }
+
+    public int getMaxReleases() {
+        return selected.size();
+    }
+
+    /**
+     * Returns the selected releases as [start day, finish day] rows ordered by finish day.
+     */
+    public ReleaseTable getSelectedReleases() {
+        ReleaseTable selectedReleases = new ReleaseTable(selected.size());
+        for (Map.Entry<Integer, Integer> release : selected.entrySet()) {
+            selectedReleases.add(release.getValue(), release.getKey());
+        }
+        return selectedReleases;
+    }
+
+    private void insert(int startDay, int estimation) {
+        validateRelease(startDay, estimation);
+        int finishDay = finishDay(startDay, estimation);
+        releases.merge(releaseKey(startDay, finishDay), 1, Integer::sum);
+        if (finishDay <= sprintLength) {
+            updateLeaf(startDay);
+        }
+    }
+
+    //chain points up to fromPoint stay; past it the chain is rebuilt until it lands on an old point after the
+    //edited release's start day, from where the old continuation is still what the greedy would pick
+    private void reselectFrom(int fromPoint, int changedStartDay) {
+        int point = fromPoint;
+        while (true) {
+            long next = earliestFinishAfter(point);
+            if (next == NONE) {
+                selected.tailMap(point, false).clear();
+                return;
+            }
+            int finishDay = (int) (next >>> Integer.SIZE);
+            int startDay = (int) next;
+            selected.subMap(point, false, finishDay, false).clear();
+            boolean rejoined = selected.containsKey(finishDay) && finishDay >= changedStartDay;
+            selected.put(finishDay, startDay);
+            if (rejoined) {
+                return;
+            }
+            point = finishDay;
+        }
+    }
+
+    private long earliestFinishAfter(int day) {
+        long best = NONE;
+        int left = day + 1 + leafCount;
+        int right = sprintLength + leafCount + 1;
+        while (left < right) {
+            if ((left & 1) == 1) {
+                best = Math.min(best, earliestFinish[left++]);
+            }
+            if ((right & 1) == 1) {
+                best = Math.min(best, earliestFinish[--right]);
+            }
+            left >>= 1;
+            right >>= 1;
+        }
+        return best;
+    }
+
+    private void updateLeaf(int startDay) {
+        long key = NONE;
+        Map.Entry<Long, Integer> first = releases.ceilingEntry(releaseKey(startDay, 0));
+        if (first != null && (int) (first.getKey() >>> Integer.SIZE) == startDay) {
+            int finishDay = (int) (long) first.getKey();
+            if (finishDay <= sprintLength) {
+                key = ((long) finishDay << Integer.SIZE) | startDay;
+            }
+        }
+        int node = startDay + leafCount;
+        earliestFinish[node] = key;
+        for (node >>= 1; node > 0; node >>= 1) {
+            earliestFinish[node] = Math.min(earliestFinish[2 * node], earliestFinish[2 * node + 1]);
+        }
+    }
+
+    private void validateRelease(int startDay, int estimation) {
+        if (startDay < SPRINT_START_DAY || startDay > sprintLength || estimation < 1) {
+            throw new IllegalArgumentException("Invalid release [" + startDay + ", " + estimation +
+                    "] for sprint 1.." + sprintLength);
+        }
+    }
+
+    private static long releaseKey(int startDay, int finishDay) {
+        return ((long) startDay << Integer.SIZE) | finishDay;
+    }
+
+    //saturates instead of overflowing so huge estimations simply never fit the sprint
+    private static int finishDay(int startDay, int estimation) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) startDay + estimation - FULL_DAY_CORRECTION);
+    }
+
+}
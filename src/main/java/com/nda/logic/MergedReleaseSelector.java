@@ -0,0 +1,103 @@
+package com.nda.logic;
+
+import com.nda.common.ReleaseTable;
+
+import java.util.function.LongConsumer;
+
+import static com.nda.common.Constants.SPRINT_START_DAY;
+
+/**
+ * Greedy selections of {@link ReleaseFinder} fed one release at a time in sorted order, e.g. from an external
+ * merge, so the input table never has to be in memory. A release is a non-negative long key whose natural order is
+ * the order the mode needs; only the selection itself, at most sprintLength releases, is kept.
+ */
+public final class MergedReleaseSelector {
+
+    private static final int FULL_DAY_CORRECTION = 1;
+    private static final long LOW_BITS = 0xFFFF_FFFFL;
+
+    private MergedReleaseSelector() {
+    }
+
+    //finish day, then start day; releases with the same finish day are told apart by start day, not input order
+    public static long finishDayKey(int startDay, int estimation) {
+        return (long) (startDay + estimation - FULL_DAY_CORRECTION) << Integer.SIZE | startDay;
+    }
+
+    //estimation, then availability day, the order of ReleaseSorter.filterAndSortByEstimationAndAvailability
+    public static long estimationKey(int startDay, int estimation) {
+        return (long) estimation << Integer.SIZE | startDay;
+    }
+
+    /**
+     * Mode without ability to postpone testing over {@link #finishDayKey(int, int)} keys in ascending order.
+     */
+    public static class WithoutShift implements LongConsumer {
+
+        private final ReleaseTable selectedReleases = new ReleaseTable();
+        private int lastFinishDay;
+
+        @Override
+        public void accept(long key) {
+            int startDay = (int) (key & LOW_BITS);
+            if (startDay > lastFinishDay) {
+                lastFinishDay = (int) (key >>> Integer.SIZE);
+                selectedReleases.add(startDay, lastFinishDay);
+            }
+        }
+
+        //[start day, finish day] rows ordered by finish day
+        public ReleaseTable getSelectedReleases() {
+            return selectedReleases;
+        }
+
+    }
+
+    /**
+     * Mode with ability to postpone testing over {@link #estimationKey(int, int)} keys in ascending order: each
+     * release takes the earliest free run of its estimation on or after its availability day.
+     */
+    public static class WithShift implements LongConsumer {
+
+        private final int sprintLength;
+        private final FreeDayIndex freeDays;
+        private final int[] finishByStartDay;
+        private long releases;
+        private int scheduledCount;
+
+        public WithShift(int sprintLength) {
+            this.sprintLength = sprintLength;
+            freeDays = new FreeDayIndex(sprintLength);
+            finishByStartDay = new int[sprintLength + FULL_DAY_CORRECTION];
+        }
+
+        @Override
+        public void accept(long key) {
+            releases++;
+            int duration = (int) (key >>> Integer.SIZE);
+            int startDay = freeDays.findEarliestFreeRun((int) (key & LOW_BITS), duration);
+            if (startDay != FreeDayIndex.NOT_FOUND) {
+                freeDays.occupy(startDay, duration);
+                finishByStartDay[startDay] = startDay + duration - FULL_DAY_CORRECTION;
+                scheduledCount++;
+            }
+        }
+
+        public long getUnscheduledReleases() {
+            return releases - scheduledCount;
+        }
+
+        //[start day, finish day] rows ordered by finish day; scheduled blocks never overlap, so by start day too
+        public ReleaseTable getSelectedReleases() {
+            ReleaseTable selectedReleases = new ReleaseTable(scheduledCount);
+            for (int day = SPRINT_START_DAY; day <= sprintLength; day++) {
+                if (finishByStartDay[day] != 0) {
+                    selectedReleases.add(day, finishByStartDay[day]);
+                }
+            }
+            return selectedReleases;
+        }
+
+    }
+
+}
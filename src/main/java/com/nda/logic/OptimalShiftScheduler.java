@@ -0,0 +1,137 @@
+package com.nda.logic;
+
+import com.nda.common.ReleaseTable;
+
+import java.util.Arrays;
+
+/**
+ * Exact solver for the mode with ability to postpone testing.
+ * <p>
+ * Every release shares the sprint end as its deadline, so a set of releases can be tested iff testing them in
+ * order of availability day, each as early as possible, ends within the sprint. Walking the releases in that order
+ * and keeping, per number of tested releases, the earliest day the tester is done gives the true maximum in
+ * O(n * sprintLength) time and one bit of back-pointer per (release, count) pair.
+ * <p>
+ * Inputs needing more than {@link #MAX_TAKEN_BITS} of those pairs, 128 MB of back-pointers and about a second of
+ * work, are rejected rather than run for minutes or until the heap runs out.
+ */
+public class OptimalShiftScheduler {
+
+    //(release, count) pairs the back-pointers may hold
+    public static final long MAX_TAKEN_BITS = 1L << 30;
+
+    private static final int FULL_DAY_CORRECTION = 1;
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    /**
+     * Returns a maximum set of releases as [start day, finish day] rows ordered by finish day.
+     *
+     * @throws IllegalArgumentException if the useful releases times the reachable counts exceed
+     *                                  {@link #MAX_TAKEN_BITS}
+     */
+    public static ReleaseTable schedule(ReleaseTable releases, int sprintLength) {
+        int[] positions = new int[sprintLength + FULL_DAY_CORRECTION];
+        ReleaseTable sortedReleases = ReleaseSorter.filterAndSortByAvailabilityAndEstimation(releases, sprintLength,
+                positions);
+
+        int[] availableDays = new int[sortedReleases.size()];
+        int[] durations = new int[sortedReleases.size()];
+        int candidates = keepUsefulReleases(sortedReleases, sprintLength, availableDays, durations);
+
+        int maxCount = Math.min(candidates, sprintLength);
+        int[] busyUntil = new int[maxCount + 1];
+        Arrays.fill(busyUntil, UNREACHABLE);
+        busyUntil[0] = 0;
+        long takenBits = (long) candidates * (maxCount + 1);
+        if (takenBits > MAX_TAKEN_BITS) {
+            throw new IllegalArgumentException("Input too large for the exact solver: " + candidates +
+                    " useful releases and up to " + maxCount + " tested releases need " + takenBits +
+                    " states, at most " + MAX_TAKEN_BITS + " are supported.");
+        }
+        long[] taken = new long[Math.toIntExact((takenBits + Long.SIZE - 1) / Long.SIZE)];
+
+        for (int release = 0; release < candidates; release++) {
+            int readyDay = availableDays[release] - FULL_DAY_CORRECTION;
+            int duration = durations[release];
+            for (int count = Math.min(release + 1, maxCount); count >= 1; count--) {
+                int previous = busyUntil[count - 1];
+                if (previous == UNREACHABLE) {
+                    continue;
+                }
+                int finishDay = Math.max(previous, readyDay) + duration;
+                if (finishDay <= sprintLength && finishDay < busyUntil[count]) {
+                    busyUntil[count] = finishDay;
+                    setTaken(taken, release, count, maxCount);
+                }
+            }
+        }
+
+        int bestCount = 0;
+        while (bestCount < maxCount && busyUntil[bestCount + 1] != UNREACHABLE) {
+            bestCount++;
+        }
+        return buildSchedule(availableDays, durations, taken, candidates, maxCount, bestCount);
+    }
+
+    //a release can be swapped for a shorter one available the same day, and releases available on day r
+    //all run within [r, sprintLength], so per day only the shortest ones fitting that window can matter
+    private static int keepUsefulReleases(ReleaseTable sortedReleases, int sprintLength,
+                                          int[] availableDays, int[] durations) {
+        int candidates = 0;
+        int currentDay = 0;
+        long usedDays = 0;
+        for (int row = 0; row < sortedReleases.size(); row++) {
+            int availableDay = sortedReleases.getStartDay(row);
+            int duration = sortedReleases.getFinish(row);
+            if (availableDay != currentDay) {
+                currentDay = availableDay;
+                usedDays = 0;
+            }
+            usedDays += duration;
+            if (usedDays <= sprintLength - availableDay + FULL_DAY_CORRECTION) {
+                availableDays[candidates] = availableDay;
+                durations[candidates] = duration;
+                candidates++;
+            }
+        }
+        return candidates;
+    }
+
+    private static ReleaseTable buildSchedule(int[] availableDays, int[] durations, long[] taken,
+                                              int candidates, int maxCount, int bestCount) {
+        boolean[] selected = new boolean[candidates];
+        int count = bestCount;
+        for (int release = candidates - 1; release >= 0 && count > 0; release--) {
+            if (isTaken(taken, release, count, maxCount)) {
+                selected[release] = true;
+                count--;
+            }
+        }
+
+        int[] startDays = new int[bestCount];
+        int[] finishDays = new int[bestCount];
+        int lastFinishDay = 0;
+        int row = 0;
+        for (int release = 0; release < candidates; release++) {
+            if (selected[release]) {
+                int startDay = Math.max(lastFinishDay + FULL_DAY_CORRECTION, availableDays[release]);
+                lastFinishDay = startDay + durations[release] - FULL_DAY_CORRECTION;
+                startDays[row] = startDay;
+                finishDays[row] = lastFinishDay;
+                row++;
+            }
+        }
+        return ReleaseTable.of(startDays, finishDays, bestCount);
+    }
+
+    private static void setTaken(long[] taken, int release, int count, int maxCount) {
+        long bit = (long) release * (maxCount + 1) + count;
+        taken[(int) (bit >>> 6)] |= 1L << bit;
+    }
+
+    private static boolean isTaken(long[] taken, int release, int count, int maxCount) {
+        long bit = (long) release * (maxCount + 1) + count;
+        return (taken[(int) (bit >>> 6)] & (1L << bit)) != 0;
+    }
+
+}
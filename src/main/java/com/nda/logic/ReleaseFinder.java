@@ -1,9 +1,19 @@
 package com.nda.logic;
 
 import static com.nda.common.Constants.FINISH_INDEX;
+import static com.nda.common.Constants.SPRINT_START_DAY;
 import static com.nda.common.Constants.START_DAY_INDEX;
 
+import com.nda.common.LaneSchedule;
+import com.nda.common.ReleaseTable;
+import com.nda.common.SprintSchedule;
+import com.nda.metrics.Phase;
+import com.nda.metrics.PhaseScope;
+import com.nda.metrics.SchedulerMetrics;
+
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -13,6 +23,9 @@ public class ReleaseFinder {
 
     private static final List<int[]> EMPTY_RELEASES = Collections.emptyList();
     private static final int FULL_DAY_CORRECTION = 1;
+    private static final int NOT_SCHEDULED = -1;
+    private static final int LANE_BITS = Integer.SIZE;
+    private static final long IMPROVER_SEED = 42L;
 
 
     public static List<int[]> findMaxReleasesWithoutShiftPerSprint(List<int[]> releases, int sprintLength) {
@@ -41,6 +54,222 @@ public class ReleaseFinder {
         return selectMaxReleasesWithShift(filteredReleases, sprintLength);
     }
 
+    public static ReleaseTable findMaxReleasesWithoutShiftPerSprint(ReleaseTable releases, int sprintLength) {
+        LOGGER.info("Finding maximum number of releases per sprint without ability to postpone testing...");
+
+        if (isTableEmpty(releases)) {
+            LOGGER.warn("Releases list is empty.");
+            return new ReleaseTable(0);
+        }
+
+        LOGGER.info("Filtering releases based on sprint length and release finish dates...");
+        ReleaseTable sortedReleases = filterAndSortByFinishDay(releases, sprintLength);
+        LOGGER.info("Filtering complete.");
+        if (sortedReleases.isEmpty()) {
+            LOGGER.warn("No releases can fit the sprint length.");
+            return sortedReleases;
+        }
+        return selectMaxReleasesWithoutShift(sortedReleases);
+    }
+
+    public static ReleaseTable findMaxReleasesWithShiftPerSprint(ReleaseTable releases, int sprintLength) {
+        LOGGER.info("Finding maximum number of releases per sprint with ability to postpone testing...");
+
+        if (isTableEmpty(releases)) {
+            LOGGER.warn("Releases list is empty.");
+            return new ReleaseTable(0);
+        }
+
+        int[] dayCounts = new int[sprintLength + FULL_DAY_CORRECTION];
+        LOGGER.info("Filtering releases based on sprint length and release finish dates...");
+        ReleaseTable sortedReleases = filterAndSortByEstimationAndAvailability(releases, sprintLength, dayCounts);
+        LOGGER.info("Filtering complete.");
+        if (sortedReleases.isEmpty()) {
+            LOGGER.warn("No releases can fit the sprint length.");
+            return sortedReleases;
+        }
+        return selectMaxReleasesWithShift(sortedReleases, sprintLength, dayCounts);
+    }
+
+    /**
+     * Mode without ability to postpone testing for several testers working in parallel. Releases are taken in
+     * finish day order and each goes to the tester who became free most recently before it starts, which keeps
+     * earlier-free testers for releases starting sooner and gives the maximum number of tested releases in
+     * O(n log lanes) after the counting sort.
+     */
+    public static LaneSchedule findMaxReleasesWithoutShiftPerSprint(ReleaseTable releases, int sprintLength,
+                                                                    int lanes) {
+        if (lanes < 1) {
+            throw new IllegalArgumentException("Number of lanes must be positive, found: " + lanes);
+        }
+        LOGGER.info("Finding maximum number of releases per sprint without ability to postpone testing " +
+                "across {} lanes...", lanes);
+
+        if (isTableEmpty(releases)) {
+            LOGGER.warn("Releases list is empty.");
+            return new LaneSchedule(new ReleaseTable(0), new int[0], lanes);
+        }
+
+        LOGGER.info("Filtering releases based on sprint length and release finish dates...");
+        ReleaseTable sortedReleases = filterAndSortByFinishDay(releases, sprintLength);
+        LOGGER.info("Filtering complete.");
+        return selectMaxReleasesWithoutShift(sortedReleases, lanes);
+    }
+
+    /**
+     * Computes both modes in one go: the input is filtered once and the two selections run concurrently over that
+     * shared filtered table, each sorting it without filtering again.
+     */
+    public static SprintSchedule findMaxReleasesPerSprint(ReleaseTable releases, int sprintLength) {
+        LOGGER.info("Finding maximum number of releases per sprint with and without ability to postpone testing...");
+
+        if (isTableEmpty(releases)) {
+            LOGGER.warn("Releases list is empty.");
+            return new SprintSchedule(new ReleaseTable(0), new ReleaseTable(0));
+        }
+
+        LOGGER.info("Filtering releases based on sprint length and release finish dates...");
+        PhaseScope filterPhase = SchedulerMetrics.begin(Phase.FILTER);
+        ReleaseTable filteredReleases = ReleaseSorter.filter(releases, sprintLength);
+        filterPhase.end(releases.size(), filteredReleases.size());
+        SchedulerMetrics.addFilteredOutRows(releases.size() - filteredReleases.size());
+        LOGGER.info("Filtering complete.");
+        if (filteredReleases.isEmpty()) {
+            LOGGER.warn("No releases can fit the sprint length.");
+            return new SprintSchedule(filteredReleases, filteredReleases);
+        }
+
+        CompletableFuture<ReleaseTable> releasesWithShift = CompletableFuture.supplyAsync(() -> {
+            int[] dayCounts = new int[sprintLength + FULL_DAY_CORRECTION];
+            ReleaseTable sortedReleases = sortByEstimationAndAvailability(filteredReleases, sprintLength, dayCounts);
+            return selectMaxReleasesWithShift(sortedReleases, sprintLength, dayCounts);
+        });
+        ReleaseTable releasesWithoutShift = selectMaxReleasesWithoutShift(
+                sortByFinishDay(filteredReleases, sprintLength));
+        return new SprintSchedule(releasesWithoutShift, releasesWithShift.join());
+    }
+
+    /**
+     * Exact counterpart of {@link #findMaxReleasesWithShiftPerSprint(ReleaseTable, int)}: the greedy places the
+     * shortest releases first and can miss the maximum, this always returns it. See {@link OptimalShiftScheduler},
+     * which rejects inputs above {@link OptimalShiftScheduler#MAX_TAKEN_BITS} with an IllegalArgumentException.
+     */
+    public static ReleaseTable findOptimalReleasesWithShiftPerSprint(ReleaseTable releases, int sprintLength) {
+        LOGGER.info("Finding optimal number of releases per sprint with ability to postpone testing...");
+
+        if (isTableEmpty(releases)) {
+            LOGGER.warn("Releases list is empty.");
+            return new ReleaseTable(0);
+        }
+
+        PhaseScope selectPhase = SchedulerMetrics.begin(Phase.SELECT);
+        ReleaseTable scheduledReleases = OptimalShiftScheduler.schedule(releases, sprintLength);
+        selectPhase.end(releases.size(), scheduledReleases.size());
+        LOGGER.info("There are optimal {} releases with ability to postpone testing.", scheduledReleases.size());
+        logReleases(scheduledReleases);
+        return scheduledReleases;
+    }
+
+    /**
+     * Mode without ability to postpone testing for every sprint length from 1 to maxSprintLength in one sort and
+     * one greedy pass. See {@link SprintLengthSweep}.
+     */
+    public static SprintLengthSweep.Result findMaxReleasesWithoutShiftPerSprintLength(ReleaseTable releases,
+                                                                                     int maxSprintLength,
+                                                                                     boolean keepSelections) {
+        LOGGER.info("Finding maximum number of releases without ability to postpone testing for sprint lengths " +
+                "1 to {}...", maxSprintLength);
+        PhaseScope selectPhase = SchedulerMetrics.begin(Phase.SELECT);
+        SprintLengthSweep.Result result = SprintLengthSweep.sweepWithoutShift(releases, maxSprintLength,
+                keepSelections);
+        selectPhase.end(releases.size(), result.getReleaseCount(maxSprintLength));
+        return result;
+    }
+
+    /**
+     * Mode with ability to postpone testing for every sprint length from 1 to maxSprintLength with one shared
+     * sort. See {@link SprintLengthSweep}.
+     */
+    public static SprintLengthSweep.Result findMaxReleasesWithShiftPerSprintLength(ReleaseTable releases,
+                                                                                  int maxSprintLength,
+                                                                                  boolean keepSelections) {
+        LOGGER.info("Finding maximum number of releases with ability to postpone testing for sprint lengths " +
+                "1 to {}...", maxSprintLength);
+        PhaseScope selectPhase = SchedulerMetrics.begin(Phase.SELECT);
+        SprintLengthSweep.Result result = SprintLengthSweep.sweepWithShift(releases, maxSprintLength,
+                keepSelections);
+        selectPhase.end(releases.size(), result.getReleaseCount(maxSprintLength));
+        return result;
+    }
+
+    /**
+     * Counterpart of {@link #findMaxReleasesWithShiftPerSprint(ReleaseTable, int)} that keeps improving the
+     * first-fit schedule by local search for the given time budget, one search per available core, or fewer when
+     * the heap cannot hold that many. See {@link ShiftScheduleImprover}.
+     */
+    public static ReleaseTable findImprovedReleasesWithShiftPerSprint(ReleaseTable releases, int sprintLength,
+                                                                      Duration budget) {
+        LOGGER.info("Improving releases per sprint with ability to postpone testing for {} ms...",
+                budget.toMillis());
+
+        if (isTableEmpty(releases)) {
+            LOGGER.warn("Releases list is empty.");
+            return new ReleaseTable(0);
+        }
+
+        PhaseScope selectPhase = SchedulerMetrics.begin(Phase.SELECT);
+        ReleaseTable scheduledReleases = ShiftScheduleImprover.improve(releases, sprintLength, budget,
+                Runtime.getRuntime().availableProcessors(), IMPROVER_SEED);
+        selectPhase.end(releases.size(), scheduledReleases.size());
+        LOGGER.info("There are {} releases with ability to postpone testing after improvement.",
+                scheduledReleases.size());
+        logReleases(scheduledReleases);
+        return scheduledReleases;
+    }
+
+    public static List<int[]> findOptimalReleasesWithShiftPerSprint(List<int[]> releases, int sprintLength) {
+        if (isListEmpty(releases)) {
+            LOGGER.warn("Releases list is empty.");
+            return EMPTY_RELEASES;
+        }
+        return findOptimalReleasesWithShiftPerSprint(ReleaseTable.fromList(releases), sprintLength).toList();
+    }
+
+    /**
+     * Weighted mode without ability to postpone testing: maximizes the total weight of non-overlapping releases
+     * instead of their count. Rows without a weight column count as {@link com.nda.common.Constants#DEFAULT_WEIGHT}.
+     * See {@link WeightedReleaseScheduler}.
+     */
+    public static List<int[]> findMaxWeightedReleasesPerSprint(List<int[]> releases, int sprintLength) {
+        if (isListEmpty(releases)) {
+            LOGGER.warn("Releases list is empty.");
+            return EMPTY_RELEASES;
+        }
+
+        return findMaxWeightedReleasesPerSprint(ReleaseTable.fromList(releases), sprintLength).toList();
+    }
+
+    /**
+     * Table counterpart of {@link #findMaxWeightedReleasesPerSprint(List, int)} for the primitive parse path; rows
+     * weigh {@link com.nda.common.Constants#DEFAULT_WEIGHT} when the table has no weight column.
+     */
+    public static ReleaseTable findMaxWeightedReleasesPerSprint(ReleaseTable releases, int sprintLength) {
+        LOGGER.info("Finding maximum total weight of releases per sprint without ability to postpone testing...");
+
+        if (releases.isEmpty()) {
+            LOGGER.warn("Releases table is empty.");
+            return new ReleaseTable(0);
+        }
+
+        PhaseScope selectPhase = SchedulerMetrics.begin(Phase.SELECT);
+        ReleaseTable selectedReleases = WeightedReleaseScheduler.schedule(releases, sprintLength);
+        selectPhase.end(releases.size(), selectedReleases.size());
+        LOGGER.info("There are {} releases with maximum total weight without ability to postpone testing.",
+                selectedReleases.size());
+        logReleases(selectedReleases);
+        return selectedReleases;
+    }
+
     private static List<int[]> prepareReleases(List<int[]> releases, int sprintLength, boolean calculateFinishDay) {
         if (isListEmpty(releases)) {
             LOGGER.warn("Releases list is empty.");
@@ -64,12 +293,14 @@ public class ReleaseFinder {
 
         LOGGER.info("Selecting maximum number of non-overlapping releases...");
 
+        PhaseScope selectPhase = SchedulerMetrics.begin(Phase.SELECT);
         for (int[] release : releases) {
             if (release[START_DAY_INDEX] > lastFinishDay) {
                 selectedReleases.add(release);
                 lastFinishDay = release[FINISH_INDEX];
             }
         }
+        selectPhase.end(releases.size(), selectedReleases.size());
 
         LOGGER.info("There are maximum {} non-overlapping releases.", selectedReleases.size());
         logReleases(selectedReleases);
@@ -78,36 +309,120 @@ public class ReleaseFinder {
 
     private static List<int[]> selectMaxReleasesWithShift(List<int[]> releases, int sprintLength) {
         List<int[]> scheduledReleases = new ArrayList<>();
-        boolean[] daysOccupied = new boolean[sprintLength + FULL_DAY_CORRECTION];
+        FreeDayIndex freeDays = new FreeDayIndex(sprintLength);
 
+        PhaseScope selectPhase = SchedulerMetrics.begin(Phase.SELECT);
         for (int[] release : releases) {
-            int availableDay = release[START_DAY_INDEX];
             int duration = release[FINISH_INDEX];
-            boolean releaseTestingScheduled = false;
-
-            for (int startDay = availableDay; startDay <= sprintLength; startDay++) {
-                if (canScheduleReleaseTesting(startDay, duration, sprintLength, daysOccupied)) {
-                    for (int d = startDay; d < startDay + duration; d++) {
-                        daysOccupied[d] = true;
-                    }
-                    scheduledReleases.add(new int[]{startDay, duration});
-                    releaseTestingScheduled = true;
-                    break;
-                }
-            }
-            if (!releaseTestingScheduled) {
+            int startDay = scheduleReleaseTesting(release[START_DAY_INDEX], duration, freeDays);
+            if (startDay != NOT_SCHEDULED) {
+                scheduledReleases.add(new int[]{startDay, duration});
+            } else if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Release {} testing could not be scheduled.", Arrays.toString(release));
             }
         }
+        selectPhase.end(releases.size(), scheduledReleases.size());
+        SchedulerMetrics.addUnscheduledReleases(releases.size() - scheduledReleases.size());
         calculateReleasesFinishDay(scheduledReleases);
         sortReleasesByFinishDay(scheduledReleases);
         LOGGER.info("There are maximum {} releases with ability to postpone testing.", scheduledReleases.size());
         return scheduledReleases;
     }
 
+    private static ReleaseTable selectMaxReleasesWithoutShift(ReleaseTable releases) {
+        ReleaseTable selectedReleases = new ReleaseTable();
+        int lastFinishDay = 0;
+
+        LOGGER.info("Selecting maximum number of non-overlapping releases...");
+
+        PhaseScope selectPhase = SchedulerMetrics.begin(Phase.SELECT);
+        for (int row = 0; row < releases.size(); row++) {
+            if (releases.getStartDay(row) > lastFinishDay) {
+                lastFinishDay = releases.getFinish(row);
+                selectedReleases.add(releases.getStartDay(row), lastFinishDay);
+            }
+        }
+        selectPhase.end(releases.size(), selectedReleases.size());
+
+        LOGGER.info("There are maximum {} non-overlapping releases.", selectedReleases.size());
+        logReleases(selectedReleases);
+        return selectedReleases;
+    }
+
+    //lanes are kept as (finish day, ~lane) keys, so the greatest key below a start day is the lane that became free
+    //last before it, the lowest numbered one among ties
+    private static LaneSchedule selectMaxReleasesWithoutShift(ReleaseTable releases, int lanes) {
+        ReleaseTable selectedReleases = new ReleaseTable();
+        int[] selectedLanes = new int[releases.size()];
+        TreeSet<Long> laneFinishDays = new TreeSet<>();
+        for (int lane = 1; lane <= lanes; lane++) {
+            laneFinishDays.add(laneKey(0, lane));
+        }
+
+        LOGGER.info("Selecting maximum number of non-overlapping releases per lane...");
+
+        PhaseScope selectPhase = SchedulerMetrics.begin(Phase.SELECT);
+        for (int row = 0; row < releases.size(); row++) {
+            Long freeLane = laneFinishDays.lower((long) releases.getStartDay(row) << LANE_BITS);
+            if (freeLane != null) {
+                int lane = ~(int) (long) freeLane;
+                laneFinishDays.remove(freeLane);
+                laneFinishDays.add(laneKey(releases.getFinish(row), lane));
+                selectedLanes[selectedReleases.size()] = lane;
+                selectedReleases.add(releases.getStartDay(row), releases.getFinish(row));
+            }
+        }
+        selectPhase.end(releases.size(), selectedReleases.size());
+
+        LOGGER.info("There are maximum {} non-overlapping releases across {} lanes.", selectedReleases.size(), lanes);
+        logReleases(selectedReleases);
+        return new LaneSchedule(selectedReleases, Arrays.copyOf(selectedLanes, selectedReleases.size()), lanes);
+    }
+
+    private static long laneKey(int finishDay, int lane) {
+        return ((long) finishDay << LANE_BITS) | (~lane & 0xFFFFFFFFL);
+    }
+
+    //finishByStartDay is scratch of sprintLength + 1 slots, reused to emit the schedule in day order
+    private static ReleaseTable selectMaxReleasesWithShift(ReleaseTable releases, int sprintLength, int[] finishByStartDay) {
+        PhaseScope selectPhase = SchedulerMetrics.begin(Phase.SELECT);
+        FreeDayIndex freeDays = new FreeDayIndex(sprintLength);
+        Arrays.fill(finishByStartDay, 0);
+        int scheduledCount = 0;
+
+        for (int row = 0; row < releases.size(); row++) {
+            int duration = releases.getFinish(row);
+            int startDay = scheduleReleaseTesting(releases.getStartDay(row), duration, freeDays);
+            if (startDay != NOT_SCHEDULED) {
+                finishByStartDay[startDay] = startDay + duration - FULL_DAY_CORRECTION;
+                scheduledCount++;
+            } else if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Release [{}, {}] testing could not be scheduled.", releases.getStartDay(row), duration);
+            }
+        }
+
+        //scheduled blocks never overlap, so ordering by start day is ordering by finish day
+        int[] startDays = new int[scheduledCount];
+        int[] finishDays = new int[scheduledCount];
+        int position = 0;
+        for (int day = SPRINT_START_DAY; day <= sprintLength; day++) {
+            if (finishByStartDay[day] != 0) {
+                startDays[position] = day;
+                finishDays[position] = finishByStartDay[day];
+                position++;
+            }
+        }
+        ReleaseTable scheduledReleases = ReleaseTable.of(startDays, finishDays, scheduledCount);
+        selectPhase.end(releases.size(), scheduledCount);
+        SchedulerMetrics.addUnscheduledReleases(releases.size() - scheduledCount);
+        LOGGER.info("There are maximum {} releases with ability to postpone testing.", scheduledReleases.size());
+        return scheduledReleases;
+    }
+
     private static List<int[]> filterReleases(List<int[]> releases, int sprintLength) {
         List<int[]> validReleases = new ArrayList<>();
         LOGGER.info("Filtering releases based on sprint length and release finish dates...");
+        PhaseScope filterPhase = SchedulerMetrics.begin(Phase.FILTER);
         for (int[] release : releases) {
             int startDay = release[START_DAY_INDEX];
             int finishDay = startDay + release[FINISH_INDEX] - FULL_DAY_CORRECTION;
@@ -115,6 +430,8 @@ public class ReleaseFinder {
                 validReleases.add(new int[]{startDay, release[FINISH_INDEX]});
             }
         }
+        filterPhase.end(releases.size(), validReleases.size());
+        SchedulerMetrics.addFilteredOutRows(releases.size() - validReleases.size());
         LOGGER.info("Filtering complete.");
         logReleases(validReleases);
         return validReleases;
@@ -122,42 +439,97 @@ public class ReleaseFinder {
 
     private static void calculateReleasesFinishDay(List<int[]> releases) {
         LOGGER.info("Calculating finish day for each release...");
+        PhaseScope finishDayPhase = SchedulerMetrics.begin(Phase.FINISH_DAY);
         for (int[] release : releases) {
             int startDay = release[START_DAY_INDEX];
             int finishDay = startDay + release[FINISH_INDEX] - FULL_DAY_CORRECTION;
             release[FINISH_INDEX] = finishDay;
         }
+        finishDayPhase.end(releases.size(), releases.size());
         LOGGER.info("Calculation complete.");
         logReleases(releases);
     }
 
-    private static boolean canScheduleReleaseTesting(int startDay, int duration, int sprintLength, boolean[] daysOccupied) {
-        if (startDay + duration - FULL_DAY_CORRECTION > sprintLength) {
-            return false;
-        }
-        for (int d = startDay; d < startDay + duration; d++) {
-            if (daysOccupied[d]) {
-                return false;
-            }
+    //filter, finish day and sort are one fused counting-sort pass on this path, reported as the sort phase
+    private static ReleaseTable filterAndSortByFinishDay(ReleaseTable releases, int sprintLength) {
+        PhaseScope sortPhase = SchedulerMetrics.begin(Phase.SORT);
+        ReleaseTable sortedReleases = ReleaseSorter.filterAndSortByFinishDay(releases, sprintLength);
+        sortPhase.end(releases.size(), sortedReleases.size());
+        SchedulerMetrics.addFilteredOutRows(releases.size() - sortedReleases.size());
+        return sortedReleases;
+    }
+
+    private static ReleaseTable filterAndSortByEstimationAndAvailability(ReleaseTable releases, int sprintLength,
+                                                                          int[] dayCounts) {
+        PhaseScope sortPhase = SchedulerMetrics.begin(Phase.SORT);
+        ReleaseTable sortedReleases = ReleaseSorter.filterAndSortByEstimationAndAvailability(releases, sprintLength,
+                dayCounts);
+        sortPhase.end(releases.size(), sortedReleases.size());
+        SchedulerMetrics.addFilteredOutRows(releases.size() - sortedReleases.size());
+        return sortedReleases;
+    }
+
+    //sorts for rows already filtered by ReleaseSorter.filter, which counted the filtered-out rows
+    private static ReleaseTable sortByFinishDay(ReleaseTable filteredReleases, int sprintLength) {
+        PhaseScope sortPhase = SchedulerMetrics.begin(Phase.SORT);
+        ReleaseTable sortedReleases = ReleaseSorter.sortByFinishDay(filteredReleases, sprintLength);
+        sortPhase.end(filteredReleases.size(), sortedReleases.size());
+        return sortedReleases;
+    }
+
+    private static ReleaseTable sortByEstimationAndAvailability(ReleaseTable filteredReleases, int sprintLength,
+                                                                int[] dayCounts) {
+        PhaseScope sortPhase = SchedulerMetrics.begin(Phase.SORT);
+        ReleaseTable sortedReleases = ReleaseSorter.sortByEstimationAndAvailability(filteredReleases, sprintLength,
+                dayCounts);
+        sortPhase.end(filteredReleases.size(), sortedReleases.size());
+        return sortedReleases;
+    }
+
+    //first fit: the earliest free run of the release duration on or after its availability day
+    private static int scheduleReleaseTesting(int availableDay, int duration, FreeDayIndex freeDays) {
+        int startDay = freeDays.findEarliestFreeRun(availableDay, duration);
+        if (startDay == FreeDayIndex.NOT_FOUND) {
+            return NOT_SCHEDULED;
         }
-        return true;
+        freeDays.occupy(startDay, duration);
+        return startDay;
     }
 
     private static void sortReleasesByFinishDay(List<int[]> releases) {
+        PhaseScope sortPhase = SchedulerMetrics.begin(Phase.SORT);
         releases.sort(Comparator.comparingInt(release -> release[FINISH_INDEX]));
+        sortPhase.end(releases.size(), releases.size());
         LOGGER.debug("Sorted releases by finish time: ");
         logReleases(releases);
     }
 
     private static void sortReleasesByEstimationAndAvailability(List<int[]> releases) {
+        PhaseScope sortPhase = SchedulerMetrics.begin(Phase.SORT);
         releases.sort(Comparator.comparingInt((int[] release) -> release[FINISH_INDEX])
                 .thenComparingInt(release -> release[START_DAY_INDEX]));
+        sortPhase.end(releases.size(), releases.size());
         LOGGER.debug("Sorted releases by estimated duration, then by availability day: ");
         logReleases(releases);
     }
 
     private static void logReleases(List<int[]> releases) {
-        releases.forEach(release -> LOGGER.debug(Arrays.toString(release)));
+        if (LOGGER.isDebugEnabled()) {
+            releases.forEach(release -> LOGGER.debug(Arrays.toString(release)));
+        }
+    }
+
+    private static void logReleases(ReleaseTable releases) {
+        if (!LOGGER.isDebugEnabled()) {
+            return;
+        }
+        for (int row = 0; row < releases.size(); row++) {
+            LOGGER.debug("[{}, {}]", releases.getStartDay(row), releases.getFinish(row));
+        }
+    }
+
+    private static boolean isTableEmpty(ReleaseTable releases) {
+        return releases == null || releases.isEmpty();
     }
 
     private static boolean isListEmpty(List<int[]> releases) {
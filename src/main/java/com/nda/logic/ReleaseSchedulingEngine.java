@@ -0,0 +1,319 @@
+package com.nda.logic;
+
+import com.nda.common.ReleaseTable;
+import com.nda.common.SprintSchedule;
+import com.nda.metrics.Phase;
+import com.nda.metrics.PhaseScope;
+import com.nda.metrics.SchedulerMetrics;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+
+import static com.nda.common.Constants.ENGINE_MAX_POOLED_ROWS;
+import static com.nda.common.Constants.SPRINT_START_DAY;
+
+/**
+ * Instance counterpart of {@link ReleaseFinder} for services that schedule at a high request rate: configured once
+ * with the sprint length, it selects the same releases as the ReleaseFinder table methods without allocating per
+ * call once its buffers have grown to the largest input seen.
+ * <p>
+ * Input tables are only read, so they can be shared between threads. Sort columns, the counting sort positions, the
+ * {@link FreeDayIndex} and two result tables form one scratch. Scratches are kept in a bounded pool that does not
+ * depend on threads, so callers on virtual threads or a fresh thread per request reuse them too: a call borrows a
+ * scratch, and a pool that is empty makes a new one, kept afterwards if the pool has room. Results go to a
+ * caller-supplied table, which is cleared first, or to the pooled tables of a {@link Lease}, which stay valid until
+ * the lease is closed. The engine is thread-safe.
+ * <p>
+ * Pooled memory is bounded: a scratch whose sort columns grew past a maximum number of rows is dropped rather than
+ * pooled, so one large input does not stay in memory, and every pooled scratch holds a permit of a semaphore that
+ * engines may share to cap the scratches they pool together.
+ */
+public final class ReleaseSchedulingEngine {
+
+    private static final int FULL_DAY_CORRECTION = 1;
+
+    private final int sprintLength;
+    private final int maxPooledRows;
+    private final BlockingQueue<Scratch> pool;
+    private final Semaphore poolPermits;
+
+    //keeps up to one scratch per core, as many as can be busy at once for this CPU bound work
+    public ReleaseSchedulingEngine(int sprintLength) {
+        this(sprintLength, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ReleaseSchedulingEngine(int sprintLength, int pooledScratches) {
+        this(sprintLength, pooledScratches, ENGINE_MAX_POOLED_ROWS, new Semaphore(pooledScratches));
+    }
+
+    /**
+     * Pools up to pooledScratches scratches of at most maxPooledRows rows each, and only while a permit of
+     * poolPermits is free; engines given the same semaphore share its permits.
+     */
+    public ReleaseSchedulingEngine(int sprintLength, int pooledScratches, int maxPooledRows, Semaphore poolPermits) {
+        if (sprintLength < 1) {
+            throw new IllegalArgumentException("Sprint length must be positive, found: " + sprintLength);
+        }
+        if (pooledScratches < 1) {
+            throw new IllegalArgumentException("Number of pooled scratches must be positive, found: " +
+                    pooledScratches);
+        }
+        if (maxPooledRows < 0) {
+            throw new IllegalArgumentException("Maximum number of pooled rows must not be negative, found: " +
+                    maxPooledRows);
+        }
+        this.sprintLength = sprintLength;
+        this.maxPooledRows = maxPooledRows;
+        this.poolPermits = poolPermits;
+        pool = new ArrayBlockingQueue<>(pooledScratches);
+    }
+
+    public int getSprintLength() {
+        return sprintLength;
+    }
+
+    /**
+     * Borrows a scratch until the returned lease is closed; tables returned by the lease are overwritten by its
+     * next call of the same mode and must not be used after closing it.
+     */
+    public Lease acquire() {
+        Scratch scratch = pool.poll();
+        if (scratch == null) {
+            return new Lease(new Scratch(sprintLength));
+        }
+        poolPermits.release();
+        return new Lease(scratch);
+    }
+
+    //keeps the scratch if it is small enough and both the pool and the shared permits have room
+    private void release(Scratch scratch) {
+        if (scratch.rowCapacity() <= maxPooledRows && poolPermits.tryAcquire()) {
+            if (!pool.offer(scratch)) {
+                poolPermits.release();
+            }
+        }
+    }
+
+    public ReleaseTable findMaxReleasesWithoutShift(ReleaseTable releases, ReleaseTable output) {
+        try (Lease lease = acquire()) {
+            return findMaxReleasesWithoutShift(releases, lease.scratch, output);
+        }
+    }
+
+    public ReleaseTable findMaxReleasesWithShift(ReleaseTable releases, ReleaseTable output) {
+        try (Lease lease = acquire()) {
+            return findMaxReleasesWithShift(releases, lease.scratch, output);
+        }
+    }
+
+    /**
+     * A borrowed scratch with its pooled result tables. Not thread-safe: each thread acquires its own lease.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private Scratch scratch;
+
+        private Lease(Scratch scratch) {
+            this.scratch = scratch;
+        }
+
+        public ReleaseTable findMaxReleasesWithoutShift(ReleaseTable releases) {
+            return ReleaseSchedulingEngine.this.findMaxReleasesWithoutShift(releases, scratch(),
+                    scratch.withoutShiftOutput);
+        }
+
+        public ReleaseTable findMaxReleasesWithShift(ReleaseTable releases) {
+            return ReleaseSchedulingEngine.this.findMaxReleasesWithShift(releases, scratch(),
+                    scratch.withShiftOutput);
+        }
+
+        //only the small result record is allocated
+        public SprintSchedule findMaxReleasesPerSprint(ReleaseTable releases) {
+            return new SprintSchedule(findMaxReleasesWithoutShift(releases), findMaxReleasesWithShift(releases));
+        }
+
+        //returns the scratch to the pool, or drops it when it is too large or the pool is full
+        @Override
+        public void close() {
+            if (scratch != null) {
+                release(scratch);
+                scratch = null;
+            }
+        }
+
+        private Scratch scratch() {
+            if (scratch == null) {
+                throw new IllegalStateException("Lease is already closed");
+            }
+            return scratch;
+        }
+
+    }
+
+    private ReleaseTable findMaxReleasesWithoutShift(ReleaseTable releases, Scratch scratch, ReleaseTable output) {
+        output.clear();
+        PhaseScope sortPhase = SchedulerMetrics.begin(Phase.SORT);
+        int size = scratch.sortByFinishDay(releases);
+        sortPhase.end(releases.size(), size);
+        SchedulerMetrics.addFilteredOutRows(releases.size() - size);
+
+        PhaseScope selectPhase = SchedulerMetrics.begin(Phase.SELECT);
+        int lastFinishDay = 0;
+        for (int row = 0; row < size; row++) {
+            if (scratch.startDays[row] > lastFinishDay) {
+                lastFinishDay = scratch.keys[row];
+                output.add(scratch.startDays[row], lastFinishDay);
+            }
+        }
+        selectPhase.end(size, output.size());
+        return output;
+    }
+
+    private ReleaseTable findMaxReleasesWithShift(ReleaseTable releases, Scratch scratch, ReleaseTable output) {
+        output.clear();
+        PhaseScope sortPhase = SchedulerMetrics.begin(Phase.SORT);
+        int size = scratch.sortByEstimationAndAvailability(releases);
+        sortPhase.end(releases.size(), size);
+        SchedulerMetrics.addFilteredOutRows(releases.size() - size);
+
+        PhaseScope selectPhase = SchedulerMetrics.begin(Phase.SELECT);
+        FreeDayIndex freeDays = scratch.freeDays;
+        freeDays.clear();
+        int[] finishByStartDay = scratch.positions;
+        Arrays.fill(finishByStartDay, 0);
+        int scheduledCount = 0;
+        for (int row = 0; row < size; row++) {
+            int duration = scratch.keys[row];
+            int startDay = freeDays.findEarliestFreeRun(scratch.startDays[row], duration);
+            if (startDay != FreeDayIndex.NOT_FOUND) {
+                freeDays.occupy(startDay, duration);
+                finishByStartDay[startDay] = startDay + duration - FULL_DAY_CORRECTION;
+                scheduledCount++;
+            }
+        }
+        //scheduled blocks never overlap, so ordering by start day is ordering by finish day
+        for (int day = SPRINT_START_DAY; day <= sprintLength; day++) {
+            if (finishByStartDay[day] != 0) {
+                output.add(day, finishByStartDay[day]);
+            }
+        }
+        selectPhase.end(size, scheduledCount);
+        SchedulerMetrics.addUnscheduledReleases(size - scheduledCount);
+        return output;
+    }
+
+    /**
+     * One caller's buffers. The sorts are the counting sorts of {@link ReleaseSorter} writing into columns that
+     * only grow; startDays and keys hold the sorted rows, minorStartDays and minorKeys the LSD pass in between.
+     */
+    private static final class Scratch {
+
+        private final int sprintLength;
+        private final int[] positions;
+        private final FreeDayIndex freeDays;
+        private final ReleaseTable withoutShiftOutput = new ReleaseTable();
+        private final ReleaseTable withShiftOutput = new ReleaseTable();
+        private int[] startDays = new int[0];
+        private int[] keys = new int[0];
+        private int[] minorStartDays = new int[0];
+        private int[] minorKeys = new int[0];
+
+        private Scratch(int sprintLength) {
+            this.sprintLength = sprintLength;
+            positions = new int[sprintLength + FULL_DAY_CORRECTION];
+            freeDays = new FreeDayIndex(sprintLength);
+        }
+
+        //[start day, finish day] rows ordered by finish day, stable; returns the number of rows that fit
+        private int sortByFinishDay(ReleaseTable releases) {
+            Arrays.fill(positions, 0);
+            int size = 0;
+            for (int row = 0; row < releases.size(); row++) {
+                int startDay = releases.getStartDay(row);
+                int estimation = releases.getFinish(row);
+                if (ReleaseSorter.fitsSprint(startDay, estimation, sprintLength)) {
+                    positions[startDay + estimation - FULL_DAY_CORRECTION]++;
+                    size++;
+                }
+            }
+            toStartPositions();
+            ensureCapacity(size);
+
+            for (int row = 0; row < releases.size(); row++) {
+                int startDay = releases.getStartDay(row);
+                int estimation = releases.getFinish(row);
+                if (ReleaseSorter.fitsSprint(startDay, estimation, sprintLength)) {
+                    int finishDay = startDay + estimation - FULL_DAY_CORRECTION;
+                    int position = positions[finishDay]++;
+                    startDays[position] = startDay;
+                    keys[position] = finishDay;
+                }
+            }
+            return size;
+        }
+
+        //[start day, estimation] rows ordered by estimation, then availability day, stable
+        private int sortByEstimationAndAvailability(ReleaseTable releases) {
+            Arrays.fill(positions, 0);
+            int size = 0;
+            for (int row = 0; row < releases.size(); row++) {
+                int startDay = releases.getStartDay(row);
+                if (ReleaseSorter.fitsSprint(startDay, releases.getFinish(row), sprintLength)) {
+                    positions[startDay]++;
+                    size++;
+                }
+            }
+            toStartPositions();
+            ensureCapacity(size);
+
+            for (int row = 0; row < releases.size(); row++) {
+                int startDay = releases.getStartDay(row);
+                int estimation = releases.getFinish(row);
+                if (ReleaseSorter.fitsSprint(startDay, estimation, sprintLength)) {
+                    int position = positions[startDay]++;
+                    minorStartDays[position] = startDay;
+                    minorKeys[position] = estimation;
+                }
+            }
+
+            Arrays.fill(positions, 0);
+            for (int row = 0; row < size; row++) {
+                positions[minorKeys[row]]++;
+            }
+            toStartPositions();
+            for (int row = 0; row < size; row++) {
+                int position = positions[minorKeys[row]]++;
+                startDays[position] = minorStartDays[row];
+                keys[position] = minorKeys[row];
+            }
+            return size;
+        }
+
+        private void toStartPositions() {
+            int position = 0;
+            for (int key = 0; key < positions.length; key++) {
+                int count = positions[key];
+                positions[key] = position;
+                position += count;
+            }
+        }
+
+        private int rowCapacity() {
+            return startDays.length;
+        }
+
+        private void ensureCapacity(int size) {
+            if (startDays.length < size) {
+                int capacity = Math.max(size, startDays.length + (startDays.length >> 1));
+                startDays = new int[capacity];
+                keys = new int[capacity];
+                minorStartDays = new int[capacity];
+                minorKeys = new int[capacity];
+            }
+        }
+
+    }
+
+}
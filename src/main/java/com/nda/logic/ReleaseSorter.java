@@ -0,0 +1,174 @@
+package com.nda.logic;
+
+import com.nda.common.ReleaseTable;
+
+import java.util.Arrays;
+
+import static com.nda.common.Constants.SPRINT_START_DAY;
+
+/**
+ * Filter-and-sort passes over {@link ReleaseTable}s. Every key is a day or an estimation bounded by the sprint
+ * length, so the sorts are stable counting sorts instead of comparator sorts. The input table is never modified.
+ */
+public class ReleaseSorter {
+
+    private static final int FULL_DAY_CORRECTION = 1;
+
+    /**
+     * Keeps the releases that fit the sprint as [start day, estimation] rows in input order. The sortBy methods take
+     * the result without checking the rows again, so several modes can share one filter pass.
+     */
+    public static ReleaseTable filter(ReleaseTable releases, int sprintLength) {
+        int size = 0;
+        for (int row = 0; row < releases.size(); row++) {
+            if (fitsSprint(releases.getStartDay(row), releases.getFinish(row), sprintLength)) {
+                size++;
+            }
+        }
+        int[] startDays = new int[size];
+        int[] estimations = new int[size];
+        int position = 0;
+        for (int row = 0; row < releases.size(); row++) {
+            if (fitsSprint(releases.getStartDay(row), releases.getFinish(row), sprintLength)) {
+                startDays[position] = releases.getStartDay(row);
+                estimations[position] = releases.getFinish(row);
+                position++;
+            }
+        }
+        return ReleaseTable.of(startDays, estimations, size);
+    }
+
+    /**
+     * Keeps the releases that fit the sprint and returns them as [start day, finish day] rows ordered by finish day.
+     */
+    public static ReleaseTable filterAndSortByFinishDay(ReleaseTable releases, int sprintLength) {
+        return sortByFinishDay(releases, sprintLength, false);
+    }
+
+    /**
+     * Same order as {@link #filterAndSortByFinishDay(ReleaseTable, int)} for rows that already fit the sprint, such
+     * as the result of {@link #filter(ReleaseTable, int)}.
+     */
+    public static ReleaseTable sortByFinishDay(ReleaseTable filteredReleases, int sprintLength) {
+        return sortByFinishDay(filteredReleases, sprintLength, true);
+    }
+
+    /**
+     * Keeps the releases that fit the sprint and returns them as [start day, estimation] rows ordered by estimation,
+     * then by availability day. positions is scratch of at least sprintLength + 1 slots.
+     */
+    public static ReleaseTable filterAndSortByEstimationAndAvailability(ReleaseTable releases, int sprintLength,
+                                                                       int[] positions) {
+        return sortByTwoKeys(releases, sprintLength, positions, true, false);
+    }
+
+    /**
+     * Same order as {@link #filterAndSortByEstimationAndAvailability(ReleaseTable, int, int[])} for rows that already
+     * fit the sprint, such as the result of {@link #filter(ReleaseTable, int)}.
+     */
+    public static ReleaseTable sortByEstimationAndAvailability(ReleaseTable filteredReleases, int sprintLength,
+                                                               int[] positions) {
+        return sortByTwoKeys(filteredReleases, sprintLength, positions, true, true);
+    }
+
+    /**
+     * Keeps the releases that fit the sprint and returns them as [start day, estimation] rows ordered by availability
+     * day, then by estimation. positions is scratch of at least sprintLength + 1 slots.
+     */
+    public static ReleaseTable filterAndSortByAvailabilityAndEstimation(ReleaseTable releases, int sprintLength,
+                                                                       int[] positions) {
+        return sortByTwoKeys(releases, sprintLength, positions, false, false);
+    }
+
+    //written to avoid int overflow on huge estimations; rows that start before the sprint can never be selected
+    public static boolean fitsSprint(int startDay, int estimation, int sprintLength) {
+        return startDay >= SPRINT_START_DAY && startDay <= sprintLength
+                && estimation <= sprintLength - startDay + FULL_DAY_CORRECTION;
+    }
+
+    //filtered skips the fitsSprint check for rows known to fit
+    private static ReleaseTable sortByFinishDay(ReleaseTable releases, int sprintLength, boolean filtered) {
+        int[] positions = new int[sprintLength + FULL_DAY_CORRECTION];
+        int size = 0;
+        for (int row = 0; row < releases.size(); row++) {
+            if (filtered || fitsSprint(releases.getStartDay(row), releases.getFinish(row), sprintLength)) {
+                positions[finishDay(releases, row)]++;
+                size++;
+            }
+        }
+        toStartPositions(positions);
+
+        int[] startDays = new int[size];
+        int[] finishDays = new int[size];
+        for (int row = 0; row < releases.size(); row++) {
+            if (filtered || fitsSprint(releases.getStartDay(row), releases.getFinish(row), sprintLength)) {
+                int finishDay = finishDay(releases, row);
+                int position = positions[finishDay]++;
+                startDays[position] = releases.getStartDay(row);
+                finishDays[position] = finishDay;
+            }
+        }
+        return ReleaseTable.of(startDays, finishDays, size);
+    }
+
+    //LSD counting sort: a stable pass on the minor key, then a stable pass on the major key
+    private static ReleaseTable sortByTwoKeys(ReleaseTable releases, int sprintLength, int[] positions,
+                                              boolean estimationFirst, boolean filtered) {
+        Arrays.fill(positions, 0, sprintLength + FULL_DAY_CORRECTION, 0);
+        int size = 0;
+        for (int row = 0; row < releases.size(); row++) {
+            int startDay = releases.getStartDay(row);
+            int estimation = releases.getFinish(row);
+            if (filtered || fitsSprint(startDay, estimation, sprintLength)) {
+                positions[estimationFirst ? startDay : estimation]++;
+                size++;
+            }
+        }
+        toStartPositions(positions, sprintLength);
+
+        int[] minorStarts = new int[size];
+        int[] minorEstimations = new int[size];
+        for (int row = 0; row < releases.size(); row++) {
+            int startDay = releases.getStartDay(row);
+            int estimation = releases.getFinish(row);
+            if (filtered || fitsSprint(startDay, estimation, sprintLength)) {
+                int position = positions[estimationFirst ? startDay : estimation]++;
+                minorStarts[position] = startDay;
+                minorEstimations[position] = estimation;
+            }
+        }
+
+        Arrays.fill(positions, 0, sprintLength + FULL_DAY_CORRECTION, 0);
+        for (int row = 0; row < size; row++) {
+            positions[estimationFirst ? minorEstimations[row] : minorStarts[row]]++;
+        }
+        toStartPositions(positions, sprintLength);
+
+        int[] startDays = new int[size];
+        int[] estimations = new int[size];
+        for (int row = 0; row < size; row++) {
+            int position = positions[estimationFirst ? minorEstimations[row] : minorStarts[row]]++;
+            startDays[position] = minorStarts[row];
+            estimations[position] = minorEstimations[row];
+        }
+        return ReleaseTable.of(startDays, estimations, size);
+    }
+
+    private static void toStartPositions(int[] counts) {
+        toStartPositions(counts, counts.length - 1);
+    }
+
+    private static void toStartPositions(int[] counts, int maxKey) {
+        int position = 0;
+        for (int key = 0; key <= maxKey; key++) {
+            int count = counts[key];
+            counts[key] = position;
+            position += count;
+        }
+    }
+
+    private static int finishDay(ReleaseTable releases, int row) {
+        return releases.getStartDay(row) + releases.getFinish(row) - FULL_DAY_CORRECTION;
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.nda.logic;
+
+import com.nda.common.ReleaseTable;
+
+import java.util.Arrays;
+
+import static com.nda.common.Constants.SPRINT_START_DAY;
+
+/**
+ * Answers "how many non-overlapping releases fit in days [fromDay, toDay]" for one release table, the mode without
+ * ability to postpone testing restricted to releases that start and finish inside the window.
+ * <p>
+ * From a day d the greedy takes the earliest finish f among releases starting on d or later and continues from
+ * f + 1, so the whole greedy is a successor function over days. Jump tables hold the day reached after 2^k steps,
+ * and a query climbs them from the highest level down in O(log sprintLength). Building takes
+ * O(n + sprintLength * log sprintLength). The index is immutable once built and can be shared between threads.
+ */
+public final class ReleaseWindowIndex {
+
+    private static final int FULL_DAY_CORRECTION = 1;
+    private static final int NONE = Integer.MAX_VALUE;
+
+    private final int sprintLength;
+    //day after the sprint end plus one: the successor of a day with no release left to take
+    private final int endDay;
+    //jumps[k][d]: day the greedy continues from after 2^k releases taken from day d
+    private final int[][] jumps;
+    //earliest finish day and its start day among the releases starting on a day or later
+    private final int[] earliestFinishFrom;
+    private final int[] startOfEarliestFinish;
+
+    public ReleaseWindowIndex(ReleaseTable releases, int sprintLength) {
+        if (sprintLength < 1) {
+            throw new IllegalArgumentException("Sprint length must be positive, found: " + sprintLength);
+        }
+        this.sprintLength = sprintLength;
+        endDay = sprintLength + 2;
+
+        int[] shortestEstimation = new int[sprintLength + FULL_DAY_CORRECTION];
+        Arrays.fill(shortestEstimation, NONE);
+        for (int row = 0; row < releases.size(); row++) {
+            int startDay = releases.getStartDay(row);
+            int estimation = releases.getFinish(row);
+            if (ReleaseSorter.fitsSprint(startDay, estimation, sprintLength)
+                    && estimation < shortestEstimation[startDay]) {
+                shortestEstimation[startDay] = estimation;
+            }
+        }
+
+        earliestFinishFrom = new int[endDay + 1];
+        startOfEarliestFinish = new int[endDay + 1];
+        earliestFinishFrom[sprintLength + 1] = NONE;
+        earliestFinishFrom[endDay] = NONE;
+        for (int day = sprintLength; day >= SPRINT_START_DAY; day--) {
+            int finishDay = shortestEstimation[day] == NONE
+                    ? NONE
+                    : day + shortestEstimation[day] - FULL_DAY_CORRECTION;
+            if (finishDay < earliestFinishFrom[day + 1]) {
+                earliestFinishFrom[day] = finishDay;
+                startOfEarliestFinish[day] = day;
+            } else {
+                earliestFinishFrom[day] = earliestFinishFrom[day + 1];
+                startOfEarliestFinish[day] = startOfEarliestFinish[day + 1];
+            }
+        }
+
+        int levels = Integer.SIZE - Integer.numberOfLeadingZeros(sprintLength);
+        jumps = new int[levels][endDay + 1];
+        for (int day = SPRINT_START_DAY; day <= endDay; day++) {
+            jumps[0][day] = earliestFinishFrom[day] == NONE ? endDay : earliestFinishFrom[day] + 1;
+        }
+        for (int level = 1; level < levels; level++) {
+            int[] previous = jumps[level - 1];
+            for (int day = SPRINT_START_DAY; day <= endDay; day++) {
+                jumps[level][day] = previous[previous[day]];
+            }
+        }
+    }
+
+    public int getSprintLength() {
+        return sprintLength;
+    }
+
+    public int countReleases(int fromDay, int toDay) {
+        validateWindow(fromDay, toDay);
+        int day = fromDay;
+        int count = 0;
+        //a jump fits the window if its last release finishes by toDay, i.e. it continues from toDay + 1 or before
+        for (int level = jumps.length - 1; level >= 0 && day <= toDay; level--) {
+            if (jumps[level][day] <= toDay + 1) {
+                day = jumps[level][day];
+                count += 1 << level;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the releases counted by {@link #countReleases(int, int)} as [start day, finish day] rows ordered by
+     * finish day, in O(log sprintLength + result size).
+     */
+    public ReleaseTable selectReleases(int fromDay, int toDay) {
+        ReleaseTable selectedReleases = new ReleaseTable(countReleases(fromDay, toDay));
+        int day = fromDay;
+        while (day <= toDay && earliestFinishFrom[day] <= toDay) {
+            selectedReleases.add(startOfEarliestFinish[day], earliestFinishFrom[day]);
+            day = earliestFinishFrom[day] + 1;
+        }
+        return selectedReleases;
+    }
+
+    private void validateWindow(int fromDay, int toDay) {
+        if (fromDay < SPRINT_START_DAY || toDay > sprintLength || fromDay > toDay + 1) {
+            throw new IllegalArgumentException("Invalid day window [" + fromDay + ", " + toDay + "] for the sprint "
+                    + SPRINT_START_DAY + ".." + sprintLength);
+        }
+    }
+
+}
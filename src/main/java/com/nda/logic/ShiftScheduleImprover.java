@@ -0,0 +1,318 @@
+package com.nda.logic;
+
+import com.nda.common.ReleaseTable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.nda.common.Constants.SPRINT_START_DAY;
+
+/**
+ * Anytime local search for the mode with ability to postpone testing. It starts from the first-fit schedule of
+ * {@link ReleaseFinder#findMaxReleasesWithShiftPerSprint(ReleaseTable, int)} and keeps improving it until a time
+ * budget runs out, returning the largest schedule found.
+ * <p>
+ * Each search keeps the tested releases on a {@link FreeDayIndex} calendar and repeats three moves:
+ * <ul>
+ * <li>insert: an untested release goes to the earliest free run on or after its availability day;</li>
+ * <li>shift: a tested release moves to the earliest free run from a random day on, opening other gaps;</li>
+ * <li>swap: a tested release gives its days to a shorter or equal untested one, then tries to fit back in.</li>
+ * </ul>
+ * Shifts and swaps never lower the number of tested releases, so the search walks sideways across equally large
+ * schedules and any insert that succeeds is an improvement. After a long run without improvement, a search goes
+ * back to its best schedule and drops a few random releases to leave that area. Several searches with different
+ * seeds run in parallel on threads of their own, one per restart, all starting from one first-fit schedule computed
+ * up front. Each search holds a few columns per release and a calendar, so fewer searches run when half of the free
+ * heap cannot hold that many. {@link OptimalShiftScheduler} is exact, but needs O(n * sprintLength) time.
+ */
+public final class ShiftScheduleImprover {
+
+    private static final int FULL_DAY_CORRECTION = 1;
+    private static final int NOT_TESTED = -1;
+    //moves between deadline checks, so System.nanoTime stays off the hot path
+    private static final int MOVES_PER_CHECK = 256;
+    //moves without improvement, per release, before a search restarts from its best schedule
+    private static final int STAGNATION_MOVES_PER_RELEASE = 50;
+    private static final int MIN_STAGNATION_MOVES = 1000;
+    private static final int MAX_KICKED_RELEASES = 3;
+    //int columns per release in a search: start days, the two lists, list positions and the best start days
+    private static final int SEARCH_COLUMNS = 5;
+    //calendar nodes: up to two leaves per day and as many inner nodes, each three ints and a byte
+    private static final int CALENDAR_BYTES_PER_DAY = 2 * 2 * (3 * Integer.BYTES + Byte.BYTES);
+    private static final int HEAP_SHARE_DIVISOR = 2;
+
+    private ShiftScheduleImprover() {
+    }
+
+    /**
+     * Returns the largest schedule found within the budget as [start day, finish day] rows ordered by finish day,
+     * never smaller than the first-fit one. restarts is the largest number of searches run in parallel, lowered by
+     * {@link #boundRestarts(int, int, int, long)} to what the free heap holds; search i uses seed + i, and search 0
+     * starts from the unmodified first-fit schedule.
+     */
+    public static ReleaseTable improve(ReleaseTable releases, int sprintLength, Duration budget, int restarts,
+                                       long seed) {
+        if (sprintLength < 1) {
+            throw new IllegalArgumentException("Sprint length must be positive, found: " + sprintLength);
+        }
+        if (restarts < 1) {
+            throw new IllegalArgumentException("Number of restarts must be positive, found: " + restarts);
+        }
+        long deadline = System.nanoTime() + budget.toNanos();
+        int[] positions = new int[sprintLength + FULL_DAY_CORRECTION];
+        ReleaseTable candidates = ReleaseSorter.filterAndSortByEstimationAndAvailability(releases, sprintLength,
+                positions);
+        int[] firstFit = firstFit(candidates, sprintLength);
+        Runtime runtime = Runtime.getRuntime();
+        int searchCount = boundRestarts(restarts, candidates.size(), sprintLength,
+                runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory()));
+
+        //own threads, so the searches neither wait for nor hold up other work on the common pool
+        ExecutorService executor = Executors.newFixedThreadPool(searchCount);
+        Search best = null;
+        try {
+            List<CompletableFuture<Search>> searches = new ArrayList<>(searchCount);
+            for (int restart = 0; restart < searchCount; restart++) {
+                Search search = new Search(candidates, firstFit, sprintLength, seed + restart);
+                boolean perturbed = restart > 0;
+                searches.add(CompletableFuture.supplyAsync(() -> search.run(deadline, perturbed), executor));
+            }
+            for (CompletableFuture<Search> search : searches) {
+                Search finished = search.join();
+                if (best == null || finished.bestCount > best.bestCount) {
+                    best = finished;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return best.bestSchedule();
+    }
+
+    /**
+     * The number of searches, at most restarts and at least one, whose columns and calendars fit in half of the
+     * given free heap.
+     */
+    public static int boundRestarts(int restarts, int candidates, int sprintLength, long availableHeapBytes) {
+        long searchBytes = (long) SEARCH_COLUMNS * Integer.BYTES * candidates
+                + (long) CALENDAR_BYTES_PER_DAY * sprintLength;
+        long fitting = availableHeapBytes / HEAP_SHARE_DIVISOR / searchBytes;
+        return (int) Math.max(1, Math.min(restarts, fitting));
+    }
+
+    //start day of every candidate in the first-fit schedule, NOT_TESTED for those that do not fit
+    private static int[] firstFit(ReleaseTable candidates, int sprintLength) {
+        FreeDayIndex calendar = new FreeDayIndex(sprintLength);
+        int[] startDays = new int[candidates.size()];
+        for (int candidate = 0; candidate < candidates.size(); candidate++) {
+            int duration = candidates.getFinish(candidate);
+            int startDay = calendar.findEarliestFreeRun(candidates.getStartDay(candidate), duration);
+            if (startDay != FreeDayIndex.NOT_FOUND) {
+                calendar.occupy(startDay, duration);
+            }
+            startDays[candidate] = startDay == FreeDayIndex.NOT_FOUND ? NOT_TESTED : startDay;
+        }
+        return startDays;
+    }
+
+    //one local search; candidates and the first fit are read-only and shared, everything else belongs to this search
+    private static final class Search {
+
+        private final ReleaseTable candidates;
+        private final int[] firstFit;
+        private final int sprintLength;
+        private final SplittableRandom random;
+        private final FreeDayIndex calendar;
+        //start day of each tested candidate, NOT_TESTED otherwise
+        private final int[] startDays;
+        //tested and untested candidates, each an unordered list with the position of every candidate in it
+        private final int[] tested;
+        private final int[] untested;
+        private final int[] listPositions;
+        private final int[] bestStartDays;
+        private int testedCount;
+        private int bestCount;
+
+        private Search(ReleaseTable candidates, int[] firstFit, int sprintLength, long seed) {
+            this.candidates = candidates;
+            this.firstFit = firstFit;
+            this.sprintLength = sprintLength;
+            random = new SplittableRandom(seed);
+            calendar = new FreeDayIndex(sprintLength);
+            int size = candidates.size();
+            startDays = new int[size];
+            tested = new int[size];
+            untested = new int[size];
+            listPositions = new int[size];
+            bestStartDays = new int[size];
+        }
+
+        private Search run(long deadline, boolean perturbed) {
+            //places the shared first fit, the same schedule as the greedy, without searching for it again
+            for (int candidate = 0; candidate < candidates.size(); candidate++) {
+                startDays[candidate] = NOT_TESTED;
+                untested[candidate] = candidate;
+                listPositions[candidate] = candidate;
+            }
+            for (int candidate = 0; candidate < candidates.size(); candidate++) {
+                if (firstFit[candidate] != NOT_TESTED) {
+                    place(candidate, firstFit[candidate]);
+                }
+            }
+            saveBest();
+            if (perturbed) {
+                kick();
+            }
+
+            //long, as 50 moves per release overflow an int from about 43 million releases
+            long stagnationLimit = Math.max(MIN_STAGNATION_MOVES,
+                    (long) STAGNATION_MOVES_PER_RELEASE * candidates.size());
+            long movesWithoutImprovement = 0;
+            while (bestCount < candidates.size()) {
+                for (int move = 0; move < MOVES_PER_CHECK; move++) {
+                    makeMove();
+                    if (testedCount > bestCount) {
+                        saveBest();
+                        movesWithoutImprovement = 0;
+                    } else if (++movesWithoutImprovement >= stagnationLimit) {
+                        restoreBest();
+                        kick();
+                        movesWithoutImprovement = 0;
+                    }
+                }
+                if (System.nanoTime() >= deadline) {
+                    break;
+                }
+            }
+            return this;
+        }
+
+        private void makeMove() {
+            int untestedCount = candidates.size() - testedCount;
+            if (testedCount == 0 || (untestedCount > 0 && random.nextInt(3) == 0)) {
+                tryInsert(untested[random.nextInt(untestedCount)]);
+            } else if (untestedCount == 0 || random.nextBoolean()) {
+                shift(tested[random.nextInt(testedCount)]);
+            } else {
+                swap(tested[random.nextInt(testedCount)], untested[random.nextInt(untestedCount)]);
+            }
+        }
+
+        private boolean tryInsert(int candidate) {
+            int startDay = calendar.findEarliestFreeRun(candidates.getStartDay(candidate),
+                    candidates.getFinish(candidate));
+            if (startDay == FreeDayIndex.NOT_FOUND) {
+                return false;
+            }
+            place(candidate, startDay);
+            return true;
+        }
+
+        //the old days are free again once removed, so a free run is always found, at worst the same one
+        private void shift(int candidate) {
+            int availableDay = candidates.getStartDay(candidate);
+            int duration = candidates.getFinish(candidate);
+            remove(candidate);
+            int latestStart = sprintLength - duration + FULL_DAY_CORRECTION;
+            int fromDay = availableDay + random.nextInt(latestStart - availableDay + FULL_DAY_CORRECTION);
+            int startDay = calendar.findEarliestFreeRun(fromDay, duration);
+            if (startDay == FreeDayIndex.NOT_FOUND) {
+                startDay = calendar.findEarliestFreeRun(availableDay, duration);
+            }
+            place(candidate, startDay);
+        }
+
+        private void swap(int testedCandidate, int untestedCandidate) {
+            if (candidates.getFinish(untestedCandidate) > candidates.getFinish(testedCandidate)) {
+                return;
+            }
+            int oldStartDay = startDays[testedCandidate];
+            remove(testedCandidate);
+            if (tryInsert(untestedCandidate)) {
+                tryInsert(testedCandidate);
+            } else {
+                place(testedCandidate, oldStartDay);
+            }
+        }
+
+        //drops a few random tested releases and refills the calendar in random order
+        private void kick() {
+            int kicked = Math.min(testedCount, 1 + random.nextInt(MAX_KICKED_RELEASES));
+            for (int i = 0; i < kicked; i++) {
+                remove(tested[random.nextInt(testedCount)]);
+            }
+            int untestedCount = candidates.size() - testedCount;
+            for (int attempt = 0; attempt < untestedCount && testedCount < candidates.size(); attempt++) {
+                tryInsert(untested[random.nextInt(candidates.size() - testedCount)]);
+            }
+        }
+
+        private void place(int candidate, int startDay) {
+            calendar.occupy(startDay, candidates.getFinish(candidate));
+            startDays[candidate] = startDay;
+            moveBetweenLists(candidate, untested, candidates.size() - testedCount, tested, testedCount);
+            testedCount++;
+        }
+
+        private void remove(int candidate) {
+            calendar.release(startDays[candidate], candidates.getFinish(candidate));
+            startDays[candidate] = NOT_TESTED;
+            moveBetweenLists(candidate, tested, testedCount, untested, candidates.size() - testedCount);
+            testedCount--;
+        }
+
+        //removes by swapping in the last element, then appends to the other list
+        private void moveBetweenLists(int candidate, int[] from, int fromSize, int[] to, int toSize) {
+            int position = listPositions[candidate];
+            int last = from[fromSize - 1];
+            from[position] = last;
+            listPositions[last] = position;
+            to[toSize] = candidate;
+            listPositions[candidate] = toSize;
+        }
+
+        private void saveBest() {
+            bestCount = testedCount;
+            System.arraycopy(startDays, 0, bestStartDays, 0, startDays.length);
+        }
+
+        private void restoreBest() {
+            for (int candidate = 0; candidate < startDays.length; candidate++) {
+                if (startDays[candidate] != NOT_TESTED) {
+                    remove(candidate);
+                }
+            }
+            for (int candidate = 0; candidate < startDays.length; candidate++) {
+                if (bestStartDays[candidate] != NOT_TESTED) {
+                    place(candidate, bestStartDays[candidate]);
+                }
+            }
+        }
+
+        //tested blocks never overlap, so ordering by start day is ordering by finish day
+        private ReleaseTable bestSchedule() {
+            int[] finishByStartDay = new int[sprintLength + FULL_DAY_CORRECTION];
+            for (int candidate = 0; candidate < bestStartDays.length; candidate++) {
+                int startDay = bestStartDays[candidate];
+                if (startDay != NOT_TESTED) {
+                    finishByStartDay[startDay] = startDay + candidates.getFinish(candidate) - FULL_DAY_CORRECTION;
+                }
+            }
+            ReleaseTable schedule = new ReleaseTable(bestCount);
+            for (int day = SPRINT_START_DAY; day <= sprintLength; day++) {
+                if (finishByStartDay[day] != 0) {
+                    schedule.add(day, finishByStartDay[day]);
+                }
+            }
+            return schedule;
+        }
+
+    }
+
+}
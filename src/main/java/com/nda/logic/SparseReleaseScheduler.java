@@ -0,0 +1,160 @@
+package com.nda.logic;
+
+import com.nda.common.ReleaseTable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Both modes for one window of absolute days, with memory proportional to the releases in it rather than to the
+ * window length, so sprints far into a long horizon cost no more than the first one.
+ * <p>
+ * Selections match {@link ReleaseFinder} on the same releases: comparator sorts on packed long keys replace the
+ * counting sorts over days, and the free days of the mode with shift are kept as a map of free gaps instead of a
+ * {@link FreeDayIndex} over every day. Gaps too short for the current release are dropped as the search passes them,
+ * so scheduling stays O(n log n) even when every release is available on the same day.
+ */
+public final class SparseReleaseScheduler {
+
+    private static final int FULL_DAY_CORRECTION = 1;
+    private static final int NOT_FOUND = -1;
+    private static final long LOW_BITS = 0xFFFF_FFFFL;
+
+    private SparseReleaseScheduler() {
+    }
+
+    /**
+     * Mode without ability to postpone testing over the releases that start and finish within
+     * [firstDay, lastDay]. Returns [start day, finish day] rows ordered by finish day.
+     */
+    public static ReleaseTable selectWithoutShift(ReleaseTable releases, int firstDay, int lastDay) {
+        //finish day in the high bits and row in the low bits keeps equal finish days in input order
+        long[] keys = new long[releases.size()];
+        int count = 0;
+        for (int row = 0; row < releases.size(); row++) {
+            int startDay = releases.getStartDay(row);
+            int estimation = releases.getFinish(row);
+            if (fitsWindow(startDay, estimation, firstDay, lastDay)) {
+                keys[count++] = (long) (startDay + estimation - FULL_DAY_CORRECTION) << Integer.SIZE | row;
+            }
+        }
+        Arrays.sort(keys, 0, count);
+
+        ReleaseTable selectedReleases = new ReleaseTable();
+        long lastFinishDay = (long) firstDay - FULL_DAY_CORRECTION;
+        for (int i = 0; i < count; i++) {
+            int startDay = releases.getStartDay((int) (keys[i] & LOW_BITS));
+            int finishDay = (int) (keys[i] >>> Integer.SIZE);
+            if (startDay > lastFinishDay) {
+                selectedReleases.add(startDay, finishDay);
+                lastFinishDay = finishDay;
+            }
+        }
+        return selectedReleases;
+    }
+
+    /**
+     * Mode with ability to postpone testing over the releases that fit [firstDay, lastDay]: shortest first, then
+     * earliest available, each placed on the earliest free run on or after its availability day. Returns
+     * [start day, finish day] rows ordered by finish day.
+     */
+    public static ReleaseTable selectWithShift(ReleaseTable releases, int firstDay, int lastDay) {
+        //identical releases are interchangeable, so the key alone is the release
+        long[] keys = new long[releases.size()];
+        int count = 0;
+        for (int row = 0; row < releases.size(); row++) {
+            int startDay = releases.getStartDay(row);
+            int estimation = releases.getFinish(row);
+            if (fitsWindow(startDay, estimation, firstDay, lastDay)) {
+                keys[count++] = (long) estimation << Integer.SIZE | startDay;
+            }
+        }
+        Arrays.sort(keys, 0, count);
+
+        OccupiedDays occupiedDays = new OccupiedDays(firstDay, lastDay);
+        for (int i = 0; i < count; i++) {
+            int duration = (int) (keys[i] >>> Integer.SIZE);
+            int startDay = occupiedDays.findEarliestFreeRun((int) (keys[i] & LOW_BITS), duration);
+            if (startDay != NOT_FOUND) {
+                occupiedDays.occupy(startDay, duration);
+            }
+        }
+        return occupiedDays.toReleaseTable();
+    }
+
+    //written in long arithmetic as days can be close to Integer.MAX_VALUE
+    private static boolean fitsWindow(int startDay, int estimation, int firstDay, int lastDay) {
+        return startDay >= firstDay && estimation > 0
+                && (long) startDay + estimation - FULL_DAY_CORRECTION <= lastDay;
+    }
+
+    /**
+     * Free gaps as start day -> last day, split on occupy, next to the scheduled blocks as start day -> finish day;
+     * touching blocks are not merged, as each one is a release. Runs are requested in non-decreasing length order,
+     * so a gap shorter than the current length never fits again and is dropped when a search passes it: every gap
+     * is passed at most once, and a search costs a few map lookups however many releases are already scheduled.
+     */
+    private static final class OccupiedDays {
+
+        private final TreeMap<Integer, Integer> gaps = new TreeMap<>();
+        private final TreeMap<Integer, Integer> blocks = new TreeMap<>();
+
+        private OccupiedDays(int firstDay, int lastDay) {
+            if (firstDay <= lastDay) {
+                gaps.put(firstDay, lastDay);
+            }
+        }
+
+        private int findEarliestFreeRun(int fromDay, int length) {
+            //the gap holding fromDay only counts from fromDay on, but may still fit a later, longer run in full
+            Map.Entry<Integer, Integer> covering = gaps.floorEntry(fromDay);
+            if (covering != null && covering.getValue() >= fromDay) {
+                if (gapLength(fromDay, covering.getValue()) >= length) {
+                    return fromDay;
+                }
+                if (gapLength(covering.getKey(), covering.getValue()) < length) {
+                    gaps.remove(covering.getKey());
+                }
+            }
+            Map.Entry<Integer, Integer> next = gaps.higherEntry(fromDay);
+            while (next != null) {
+                if (gapLength(next.getKey(), next.getValue()) >= length) {
+                    return next.getKey();
+                }
+                gaps.remove(next.getKey());
+                next = gaps.higherEntry(next.getKey());
+            }
+            return NOT_FOUND;
+        }
+
+        //the run lies within one free gap, found by findEarliestFreeRun
+        private void occupy(int startDay, int length) {
+            int finishDay = startDay + length - FULL_DAY_CORRECTION;
+            Map.Entry<Integer, Integer> gap = gaps.floorEntry(startDay);
+            gaps.remove(gap.getKey());
+            if (gap.getKey() < startDay) {
+                gaps.put(gap.getKey(), startDay - 1);
+            }
+            if (finishDay < gap.getValue()) {
+                gaps.put(finishDay + 1, gap.getValue());
+            }
+            blocks.put(startDay, finishDay);
+        }
+
+        private static long gapLength(int firstDay, int lastDay) {
+            return (long) lastDay - firstDay + FULL_DAY_CORRECTION;
+        }
+
+        //blocks never overlap, so start day order is finish day order
+        private ReleaseTable toReleaseTable() {
+            ReleaseTable table = new ReleaseTable(blocks.size());
+            for (Map.Entry<Integer, Integer> block : blocks.entrySet()) {
+                table.add(block.getKey(), block.getValue());
+            }
+            return table;
+        }
+
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.nda.logic;
+
+import com.nda.common.ReleaseTable;
+
+import java.util.Arrays;
+
+/**
+ * Both modes for every sprint length from 1 to a maximum, for capacity planning, with the filter and the sort done
+ * once instead of once per length.
+ * <p>
+ * Without shift, the greedy over releases sorted by finish day, stopped at finish day l, is exactly the greedy for
+ * a sprint of l days, so one pass gives every length: the selection for l is the prefix of the full selection that
+ * finishes by day l. With shift, releases are sorted once by estimation and availability for the longest sprint.
+ * A shorter sprint keeps that order and skips the releases that do not fit it. Its tail days are occupied in one
+ * shared {@link FreeDayIndex}, and a length stops at the first release longer than itself. First-fit placements
+ * differ between lengths, so the selection itself is rerun per length.
+ */
+public final class SprintLengthSweep {
+
+    private static final int FULL_DAY_CORRECTION = 1;
+
+    private SprintLengthSweep() {
+    }
+
+    /**
+     * releaseCounts[l] is the maximum number of releases for a sprint of l days, releaseCounts[0] is 0. selections
+     * is null unless requested; every length has a table of its own, so callers may modify it.
+     */
+    public record Result(int[] releaseCounts, ReleaseTable[] selections) {
+
+        public int getReleaseCount(int sprintLength) {
+            return releaseCounts[sprintLength];
+        }
+
+        public ReleaseTable getSelection(int sprintLength) {
+            if (selections == null) {
+                throw new IllegalStateException("Selections were not kept by this sweep");
+            }
+            return selections[sprintLength];
+        }
+
+        public int getMaxSprintLength() {
+            return releaseCounts.length - 1;
+        }
+
+    }
+
+    public static Result sweepWithoutShift(ReleaseTable releases, int maxSprintLength, boolean keepSelections) {
+        validateMaxSprintLength(maxSprintLength);
+        ReleaseTable sortedReleases = ReleaseSorter.filterAndSortByFinishDay(releases, maxSprintLength);
+
+        int[] startDays = new int[Math.min(sortedReleases.size(), maxSprintLength)];
+        int[] finishDays = new int[startDays.length];
+        int[] releaseCounts = new int[maxSprintLength + FULL_DAY_CORRECTION];
+        int selected = 0;
+        int lastFinishDay = 0;
+        for (int row = 0; row < sortedReleases.size(); row++) {
+            if (sortedReleases.getStartDay(row) > lastFinishDay) {
+                lastFinishDay = sortedReleases.getFinish(row);
+                startDays[selected] = sortedReleases.getStartDay(row);
+                finishDays[selected] = lastFinishDay;
+                releaseCounts[lastFinishDay] = ++selected;
+            }
+        }
+        //lengths with no selected release finishing on their last day keep the count of the length before
+        for (int length = 1; length <= maxSprintLength; length++) {
+            releaseCounts[length] = Math.max(releaseCounts[length], releaseCounts[length - 1]);
+        }
+
+        ReleaseTable[] selections = null;
+        if (keepSelections) {
+            selections = new ReleaseTable[maxSprintLength + FULL_DAY_CORRECTION];
+            //copied per length, as a view over the shared columns would let add overwrite the longer selections
+            for (int length = 0; length <= maxSprintLength; length++) {
+                int count = releaseCounts[length];
+                selections[length] = ReleaseTable.of(Arrays.copyOf(startDays, count), Arrays.copyOf(finishDays, count),
+                        count);
+            }
+        }
+        return new Result(releaseCounts, selections);
+    }
+
+    public static Result sweepWithShift(ReleaseTable releases, int maxSprintLength, boolean keepSelections) {
+        validateMaxSprintLength(maxSprintLength);
+        int[] finishByStartDay = new int[maxSprintLength + FULL_DAY_CORRECTION];
+        ReleaseTable sortedReleases = ReleaseSorter.filterAndSortByEstimationAndAvailability(releases,
+                maxSprintLength, finishByStartDay);
+        Arrays.fill(finishByStartDay, 0);
+
+        FreeDayIndex freeDays = new FreeDayIndex(maxSprintLength);
+        int[] releaseCounts = new int[maxSprintLength + FULL_DAY_CORRECTION];
+        ReleaseTable[] selections = keepSelections ? new ReleaseTable[maxSprintLength + FULL_DAY_CORRECTION] : null;
+        if (keepSelections) {
+            selections[0] = new ReleaseTable(0);
+        }
+        for (int length = 1; length <= maxSprintLength; length++) {
+            freeDays.clear();
+            if (length < maxSprintLength) {
+                freeDays.occupy(length + 1, maxSprintLength - length);
+            }
+            int scheduledCount = 0;
+            //rows are ordered by estimation, so the first one longer than the sprint ends this length
+            for (int row = 0; row < sortedReleases.size() && sortedReleases.getFinish(row) <= length; row++) {
+                int availableDay = sortedReleases.getStartDay(row);
+                int duration = sortedReleases.getFinish(row);
+                if (!ReleaseSorter.fitsSprint(availableDay, duration, length)) {
+                    continue;
+                }
+                int startDay = freeDays.findEarliestFreeRun(availableDay, duration);
+                if (startDay != FreeDayIndex.NOT_FOUND) {
+                    freeDays.occupy(startDay, duration);
+                    finishByStartDay[startDay] = startDay + duration - FULL_DAY_CORRECTION;
+                    scheduledCount++;
+                }
+            }
+            releaseCounts[length] = scheduledCount;
+            if (keepSelections) {
+                selections[length] = new ReleaseTable(scheduledCount);
+            }
+            //collects the selection in start day order, which is finish day order, and resets the scratch
+            for (int day = 1; day <= length; day++) {
+                if (finishByStartDay[day] != 0) {
+                    if (keepSelections) {
+                        selections[length].add(day, finishByStartDay[day]);
+                    }
+                    finishByStartDay[day] = 0;
+                }
+            }
+        }
+        return new Result(releaseCounts, selections);
+    }
+
+    private static void validateMaxSprintLength(int maxSprintLength) {
+        if (maxSprintLength < 1) {
+            throw new IllegalArgumentException("Sprint length must be positive, found: " + maxSprintLength);
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.nda.logic;
+
+import com.nda.common.ReleaseTable;
+import com.nda.metrics.Phase;
+import com.nda.metrics.PhaseScope;
+import com.nda.metrics.SchedulerMetrics;
+
+import java.util.Arrays;
+
+/**
+ * Mode without ability to postpone testing for inputs fed one release at a time, in O(sprintLength) memory
+ * whatever the number of releases.
+ * <p>
+ * Of the releases available on the same day only the shortest can matter: it finishes first, so swapping any
+ * other of them for it never breaks a schedule. One slot per day keeps that release, and {@link #select()}
+ * runs the greedy over the slots, picking the earliest finish among the days after the last selected finish.
+ */
+public class StreamingReleaseSelector {
+
+    private static final int FULL_DAY_CORRECTION = 1;
+    private static final int NONE = Integer.MAX_VALUE;
+
+    private final int sprintLength;
+    //per start day, the shortest estimation seen that fits the sprint
+    private final int[] shortestEstimation;
+    private long releases;
+    private long fittingReleases;
+
+    public StreamingReleaseSelector(int sprintLength) {
+        if (sprintLength < 1) {
+            throw new IllegalArgumentException("Sprint length must be positive, found: " + sprintLength);
+        }
+        this.sprintLength = sprintLength;
+        shortestEstimation = new int[sprintLength + FULL_DAY_CORRECTION];
+        Arrays.fill(shortestEstimation, NONE);
+    }
+
+    public void add(int startDay, int estimation) {
+        releases++;
+        if (ReleaseSorter.fitsSprint(startDay, estimation, sprintLength)) {
+            fittingReleases++;
+            if (estimation < shortestEstimation[startDay]) {
+                shortestEstimation[startDay] = estimation;
+            }
+        }
+    }
+
+    public long getReleases() {
+        return releases;
+    }
+
+    /**
+     * Returns the maximum set of non-overlapping releases seen so far as [start day, finish day] rows ordered by
+     * finish day. Among releases with the same finish day the latest starting one is taken.
+     */
+    public ReleaseTable select() {
+        SchedulerMetrics.addFilteredOutRows(releases - fittingReleases);
+        PhaseScope selectPhase = SchedulerMetrics.begin(Phase.SELECT);
+
+        //earliest finish, and its start day, over the releases starting on a day or later
+        int[] earliestFinishFrom = new int[sprintLength + 2];
+        int[] startOfEarliestFinish = new int[sprintLength + 2];
+        earliestFinishFrom[sprintLength + 1] = NONE;
+        for (int day = sprintLength; day >= 1; day--) {
+            int finishDay = shortestEstimation[day] == NONE
+                    ? NONE
+                    : day + shortestEstimation[day] - FULL_DAY_CORRECTION;
+            if (finishDay < earliestFinishFrom[day + 1]) {
+                earliestFinishFrom[day] = finishDay;
+                startOfEarliestFinish[day] = day;
+            } else {
+                earliestFinishFrom[day] = earliestFinishFrom[day + 1];
+                startOfEarliestFinish[day] = startOfEarliestFinish[day + 1];
+            }
+        }
+
+        ReleaseTable selectedReleases = new ReleaseTable();
+        int lastFinishDay = 0;
+        while (lastFinishDay < sprintLength && earliestFinishFrom[lastFinishDay + 1] != NONE) {
+            int startDay = startOfEarliestFinish[lastFinishDay + 1];
+            lastFinishDay = earliestFinishFrom[lastFinishDay + 1];
+            selectedReleases.add(startDay, lastFinishDay);
+        }
+        selectPhase.end(fittingReleases, selectedReleases.size());
+        return selectedReleases;
+    }
+
+}
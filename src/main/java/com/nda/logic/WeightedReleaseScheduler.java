@@ -0,0 +1,116 @@
+package com.nda.logic;
+
+import com.nda.common.ReleaseTable;
+
+/**
+ * Weighted mode without ability to postpone testing: picks non-overlapping releases with the largest total weight.
+ * <p>
+ * Classic weighted interval scheduling over releases sorted by finish day: the best total of the first k releases
+ * either skips release k or takes it plus the best total of the releases finishing before it starts. Finish days are
+ * bounded by the sprint, so a stable counting sort orders them and its cumulative counts give that predecessor
+ * directly, in O(n + sprintLength) time over primitive arrays.
+ */
+public class WeightedReleaseScheduler {
+
+    private static final int FULL_DAY_CORRECTION = 1;
+
+    private final int[] startDays;
+    private final int[] finishDays;
+    private final int[] weights;
+    //after sorting: number of releases finishing before a day, i.e. the predecessor count for that start day
+    private final int[] finishedBefore;
+    private final long[] bestTotal;
+    private final int size;
+
+    private WeightedReleaseScheduler(ReleaseTable releases, int sprintLength) {
+        finishedBefore = new int[sprintLength + FULL_DAY_CORRECTION];
+        int candidates = 0;
+        for (int row = 0; row < releases.size(); row++) {
+            if (ReleaseSorter.fitsSprint(releases.getStartDay(row), releases.getFinish(row), sprintLength)) {
+                finishedBefore[finishDay(releases.getStartDay(row), releases.getFinish(row))]++;
+                candidates++;
+            }
+        }
+        for (int day = 1; day <= sprintLength; day++) {
+            finishedBefore[day] += finishedBefore[day - 1];
+        }
+
+        size = candidates;
+        startDays = new int[size];
+        finishDays = new int[size];
+        weights = new int[size];
+        //walking backwards keeps equal finish days in input order and leaves each counter at its first slot
+        for (int row = releases.size() - 1; row >= 0; row--) {
+            int startDay = releases.getStartDay(row);
+            int estimation = releases.getFinish(row);
+            if (ReleaseSorter.fitsSprint(startDay, estimation, sprintLength)) {
+                int finishDay = finishDay(startDay, estimation);
+                int position = --finishedBefore[finishDay];
+                startDays[position] = startDay;
+                finishDays[position] = finishDay;
+                weights[position] = releases.getWeight(row);
+            }
+        }
+        bestTotal = new long[size + 1];
+    }
+
+    /**
+     * Returns releases with the maximum total weight as [start day, finish day] rows ordered by finish day.
+     * The three input arrays hold one release per index in their first {@code rows} entries.
+     */
+    public static ReleaseTable schedule(int[] startDays, int[] estimations, int[] weights, int rows,
+                                        int sprintLength) {
+        return schedule(ReleaseTable.of(startDays, estimations, weights, rows), sprintLength);
+    }
+
+    //[start day, estimation] rows with their weights, DEFAULT_WEIGHT where the table has no weight column
+    public static ReleaseTable schedule(ReleaseTable releases, int sprintLength) {
+        WeightedReleaseScheduler scheduler = new WeightedReleaseScheduler(releases, sprintLength);
+        scheduler.computeBestTotals();
+        return scheduler.buildSchedule();
+    }
+
+    private void computeBestTotals() {
+        for (int release = 0; release < size; release++) {
+            long withRelease = weights[release] + bestTotal[finishedBefore[startDays[release]]];
+            bestTotal[release + 1] = Math.max(bestTotal[release], withRelease);
+        }
+    }
+
+    private ReleaseTable buildSchedule() {
+        int selectedCount = 0;
+        for (int count = size; count > 0; ) {
+            if (isTaken(count - 1)) {
+                selectedCount++;
+                count = finishedBefore[startDays[count - 1]];
+            } else {
+                count--;
+            }
+        }
+
+        int[] selectedStartDays = new int[selectedCount];
+        int[] selectedFinishDays = new int[selectedCount];
+        int row = selectedCount;
+        for (int count = size; count > 0; ) {
+            int release = count - 1;
+            if (isTaken(release)) {
+                row--;
+                selectedStartDays[row] = startDays[release];
+                selectedFinishDays[row] = finishDays[release];
+                count = finishedBefore[startDays[release]];
+            } else {
+                count--;
+            }
+        }
+        return ReleaseTable.of(selectedStartDays, selectedFinishDays, selectedCount);
+    }
+
+    private boolean isTaken(int release) {
+        return weights[release] + bestTotal[finishedBefore[startDays[release]]] > bestTotal[release];
+    }
+
+    private static int finishDay(int startDay, int estimation) {
+        return startDay + estimation - FULL_DAY_CORRECTION;
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.nda.metrics;
+
+public enum Phase {
+    READ,
+    PARSE,
+    FILTER,
+    FINISH_DAY,
+    SORT,
+    SELECT,
+    WRITE
+}
@@ -0,0 +1,25 @@
+package com.nda.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.nda.SchedulerPhase")
+@Label("Scheduler Phase")
+@Category("Release Scheduler")
+@Description("One phase of reading, scheduling or writing a release table")
+class PhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Rows In")
+    long rowsIn;
+
+    @Label("Rows Out")
+    @Description("Rows kept by a filter, releases selected or scheduled by a selection")
+    long rowsOut;
+
+}
@@ -0,0 +1,38 @@
+package com.nda.metrics;
+
+/**
+ * One running phase, closed with {@link #end(long, long)}. Disabled instrumentation hands out a shared no-op scope.
+ */
+public class PhaseScope {
+
+    static final PhaseScope DISABLED = new PhaseScope(null, 0, null);
+
+    private final Phase phase;
+    private final long startNanos;
+    private final PhaseEvent event;
+
+    PhaseScope(Phase phase, long startNanos, PhaseEvent event) {
+        this.phase = phase;
+        this.startNanos = startNanos;
+        this.event = event;
+    }
+
+    public void end(long rowsIn, long rowsOut) {
+        if (this == DISABLED) {
+            return;
+        }
+        if (startNanos != 0) {
+            SchedulerMetrics.getInstance().recordPhase(phase, System.nanoTime() - startNanos);
+        }
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = phase.name();
+                event.rowsIn = rowsIn;
+                event.rowsOut = rowsOut;
+                event.commit();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.nda.metrics;
+
+import jdk.jfr.FlightRecorder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-phase timers and counters for reading, scheduling and writing release tables.
+ * <p>
+ * Timers and counters are kept only while enabled, either with {@code -Dscheduler.metrics=true} or through
+ * {@link #setEnabled(boolean)}. The {@code com.nda:type=SchedulerMetrics} MXBean is registered when the class loads
+ * with that property set, or by {@link #registerMBean()}, which the long-running entry points call so a JMX client
+ * can enable metrics on the running process. Short runs never start the platform MBean server.
+ * Independently, every phase is emitted as a {@code com.nda.SchedulerPhase} JFR event while a recording has it
+ * enabled. With both off a phase costs one volatile read and one JFR initialized check.
+ */
+public class SchedulerMetrics implements SchedulerMetricsMXBean {
+    private static final Logger LOGGER = LogManager.getLogger(SchedulerMetrics.class);
+
+    public static final String ENABLED_PROPERTY = "scheduler.metrics";
+    public static final String OBJECT_NAME = "com.nda:type=SchedulerMetrics";
+
+    private static final SchedulerMetrics INSTANCE = new SchedulerMetrics();
+
+    private static volatile boolean enabled;
+
+    private final LongAdder[] phaseNanos = newAdders();
+    private final LongAdder[] phaseInvocations = newAdders();
+    private final LongAdder filteredOutRows = new LongAdder();
+    private final LongAdder unscheduledReleases = new LongAdder();
+
+    static {
+        enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+        if (enabled) {
+            registerMBean();
+        }
+    }
+
+    public static SchedulerMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public static PhaseScope begin(Phase phase) {
+        boolean metricsEnabled = enabled;
+        //event classes are only loaded once a recording exists, which keeps JFR off the startup path
+        PhaseEvent event = FlightRecorder.isInitialized() ? new PhaseEvent() : null;
+        boolean eventEnabled = event != null && event.isEnabled();
+        if (!metricsEnabled && !eventEnabled) {
+            return PhaseScope.DISABLED;
+        }
+        if (eventEnabled) {
+            event.begin();
+        }
+        return new PhaseScope(phase, metricsEnabled ? System.nanoTime() : 0, eventEnabled ? event : null);
+    }
+
+    public static void addFilteredOutRows(long rows) {
+        if (enabled) {
+            INSTANCE.filteredOutRows.add(rows);
+        }
+    }
+
+    public static void addUnscheduledReleases(long releases) {
+        if (enabled) {
+            INSTANCE.unscheduledReleases.add(releases);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        SchedulerMetrics.enabled = enabled;
+    }
+
+    @Override
+    public Map<String, Long> getPhaseTotalNanos() {
+        return toMap(phaseNanos);
+    }
+
+    @Override
+    public Map<String, Long> getPhaseInvocations() {
+        return toMap(phaseInvocations);
+    }
+
+    @Override
+    public long getFilteredOutRows() {
+        return filteredOutRows.sum();
+    }
+
+    @Override
+    public long getUnscheduledReleases() {
+        return unscheduledReleases.sum();
+    }
+
+    @Override
+    public void reset() {
+        for (Phase phase : Phase.values()) {
+            phaseNanos[phase.ordinal()].reset();
+            phaseInvocations[phase.ordinal()].reset();
+        }
+        filteredOutRows.reset();
+        unscheduledReleases.reset();
+    }
+
+    void recordPhase(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()].add(nanos);
+        phaseInvocations[phase.ordinal()].increment();
+    }
+
+    //idempotent; starts the platform MBean server, which costs hundreds of milliseconds on a fresh JVM
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+            }
+        } catch (JMException e) {
+            LOGGER.warn("Could not register scheduler metrics MBean: {}", e.getMessage());
+        }
+    }
+
+    private static Map<String, Long> toMap(LongAdder[] adders) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            values.put(phase.name(), adders[phase.ordinal()].sum());
+        }
+        return values;
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[Phase.values().length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.nda.metrics;
+
+import java.util.Map;
+
+public interface SchedulerMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    Map<String, Long> getPhaseTotalNanos();
+
+    Map<String, Long> getPhaseInvocations();
+
+    long getFilteredOutRows();
+
+    long getUnscheduledReleases();
+
+    void reset();
+
+}
@@ -0,0 +1,237 @@
+package com.nda.util;
+
+import com.nda.common.ReleaseTable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact binary form of a release table.
+ * <p>
+ * Layout, little-endian: a 16 byte header (magic "RLSB", version, kind, encoding, flags, row count, sprint length)
+ * followed by the start day column and then the second column, each as one contiguous block. With the weights flag
+ * set, a weight column follows as a third block; files without weights are the same as before the flag existed.
+ * FIXED stores 4 byte ints so a column is bulk-read straight into an int[]; VARINT stores 7 bits per byte, which
+ * takes one or two bytes per value for realistic sprints.
+ */
+public class BinaryReleaseFormat {
+
+    public static final int MAGIC = 0x42534C52;
+
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int VARINT_PAYLOAD_MASK = 0x7F;
+    private static final int VARINT_CONTINUATION = 0x80;
+    //an int takes at most 5 varint bytes, the last of which carries its top 4 bits
+    private static final int VARINT_MAX_SHIFT = 28;
+    private static final int VARINT_LAST_BYTE_MASK = 0x0F;
+    private static final int COLUMNS = 2;
+    private static final int WEIGHTED_COLUMNS = 3;
+    private static final int FLAG_WEIGHTS = 0x01;
+    //the smallest a value can take, so a header cannot ask for more rows than the file can hold
+    private static final int MIN_VARINT_BYTES = 1;
+
+    public enum Kind {
+        //[start day, estimation] rows as in input/releases.txt
+        INPUT,
+        //[start day, finish day] rows as in output/*.txt
+        RESULT
+    }
+
+    public enum Encoding {
+        FIXED,
+        VARINT
+    }
+
+    public record Header(Kind kind, Encoding encoding, int rowCount, int sprintLength, boolean weighted) {
+    }
+
+    public static boolean isBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (magic.hasRemaining()) {
+                if (channel.read(magic) < 0) {
+                    return false;
+                }
+            }
+            return magic.getInt(0) == MAGIC;
+        }
+    }
+
+    public static Header readHeader(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readHeader(channel);
+        }
+    }
+
+    public static ReleaseTable read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel);
+            int[] startDays = new int[header.rowCount()];
+            int[] finishes = new int[header.rowCount()];
+            int[] weights = header.weighted() ? new int[header.rowCount()] : null;
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.limit(0);
+            readColumn(channel, buffer, startDays, header.encoding());
+            readColumn(channel, buffer, finishes, header.encoding());
+            if (weights != null) {
+                readColumn(channel, buffer, weights, header.encoding());
+            }
+            return ReleaseTable.of(startDays, finishes, weights, header.rowCount());
+        }
+    }
+
+    //the weight column is written only when the table has one
+    public static void write(Path path, ReleaseTable table, Kind kind, Encoding encoding, int sprintLength)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC)
+                    .put(VERSION)
+                    .put((byte) kind.ordinal())
+                    .put((byte) encoding.ordinal())
+                    .put((byte) (table.hasWeights() ? FLAG_WEIGHTS : 0))
+                    .putInt(table.size())
+                    .putInt(sprintLength);
+            int columns = table.hasWeights() ? WEIGHTED_COLUMNS : COLUMNS;
+            for (int column = 0; column < columns; column++) {
+                for (int row = 0; row < table.size(); row++) {
+                    int value = column == 0 ? table.getStartDay(row)
+                            : column == 1 ? table.getFinish(row)
+                            : table.getWeight(row);
+                    if (buffer.remaining() < Integer.BYTES + 1) {
+                        flush(channel, buffer);
+                    }
+                    if (encoding == Encoding.FIXED) {
+                        buffer.putInt(value);
+                    } else {
+                        putVarint(buffer, value);
+                    }
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    private static Header readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        fill(channel, header);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a binary release file.");
+        }
+        byte version = header.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary release file version: " + version);
+        }
+        int kind = header.get();
+        int encoding = header.get();
+        int flags = header.get();
+        if (kind < 0 || kind >= Kind.values().length || encoding < 0 || encoding >= Encoding.values().length) {
+            throw new IOException("Invalid kind or encoding in binary release file: " + kind + ", " + encoding);
+        }
+        if ((flags & ~FLAG_WEIGHTS) != 0) {
+            throw new IOException("Unsupported flags in binary release file: " + flags);
+        }
+        int rowCount = header.getInt();
+        int sprintLength = header.getInt();
+        if (rowCount < 0) {
+            throw new IOException("Invalid row count in binary release file: " + rowCount);
+        }
+        Encoding columnEncoding = Encoding.values()[encoding];
+        boolean weighted = (flags & FLAG_WEIGHTS) != 0;
+        long minRowBytes = (long) (weighted ? WEIGHTED_COLUMNS : COLUMNS)
+                * (columnEncoding == Encoding.FIXED ? Integer.BYTES : MIN_VARINT_BYTES);
+        if (rowCount * minRowBytes > channel.size() - HEADER_SIZE) {
+            throw new EOFException("Binary release file is truncated: " + rowCount + " rows need at least " +
+                    rowCount * minRowBytes + " bytes, found " + (channel.size() - HEADER_SIZE) + ".");
+        }
+        return new Header(Kind.values()[kind], columnEncoding, rowCount, sprintLength, weighted);
+    }
+
+    private static void readColumn(FileChannel channel, ByteBuffer buffer, int[] column, Encoding encoding)
+            throws IOException {
+        if (encoding == Encoding.FIXED) {
+            readFixedColumn(channel, buffer, column);
+        } else {
+            readVarintColumn(channel, buffer, column);
+        }
+    }
+
+    private static void readFixedColumn(FileChannel channel, ByteBuffer buffer, int[] column) throws IOException {
+        int offset = 0;
+        while (offset < column.length) {
+            if (buffer.remaining() < Integer.BYTES) {
+                refill(channel, buffer);
+            }
+            IntBuffer ints = buffer.asIntBuffer();
+            int count = Math.min(ints.remaining(), column.length - offset);
+            ints.get(column, offset, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            offset += count;
+        }
+    }
+
+    private static void readVarintColumn(FileChannel channel, ByteBuffer buffer, int[] column) throws IOException {
+        for (int row = 0; row < column.length; row++) {
+            int value = 0;
+            int shift = 0;
+            int current;
+            do {
+                if (!buffer.hasRemaining()) {
+                    refill(channel, buffer);
+                }
+                current = buffer.get();
+                if (shift == VARINT_MAX_SHIFT && (current & ~VARINT_LAST_BYTE_MASK) != 0) {
+                    throw new IOException("Corrupt varint in binary release file at row " + (row + 1) + ".");
+                }
+                value |= (current & VARINT_PAYLOAD_MASK) << shift;
+                shift += VARINT_PAYLOAD_BITS;
+            } while ((current & VARINT_CONTINUATION) != 0);
+            column[row] = value;
+        }
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~VARINT_PAYLOAD_MASK) != 0) {
+            buffer.put((byte) ((value & VARINT_PAYLOAD_MASK) | VARINT_CONTINUATION));
+            value >>>= VARINT_PAYLOAD_BITS;
+        }
+        buffer.put((byte) value);
+    }
+
+    //keeps unread bytes and tops the buffer up, failing if the file ends before the header promised
+    private static void refill(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.compact();
+        if (channel.read(buffer) < 0) {
+            throw new EOFException("Binary release file is truncated.");
+        }
+        buffer.flip();
+    }
+
+    private static void fill(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Binary release file is truncated.");
+            }
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+}
@@ -0,0 +1,283 @@
+package com.nda.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.LongConsumer;
+
+/**
+ * Sorts more release keys than fit in the heap. Keys are buffered in runs of a fixed size, each full run is sorted
+ * and spilled to a temporary file, and {@link #merge(LongConsumer)} k-way merges the spilled runs with the last,
+ * unspilled one, handing keys to the consumer in ascending order. A merge reads at most a maximum fan-in of runs at
+ * once: with more spilled runs, the oldest ones are first merged into longer runs in intermediate passes, so at most
+ * one run plus one read buffer per merged run is in memory and the number of open files stays bounded.
+ * <p>
+ * A run file holds the gaps between its sorted keys as unsigned varints, 7 bits per byte, so runs of day-bounded
+ * keys mostly take one or two bytes per release. Keys must not be negative. Not thread-safe.
+ */
+public class ExternalReleaseSorter implements Closeable {
+
+    private static final Logger LOGGER = LogManager.getLogger(ExternalReleaseSorter.class);
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int DEFAULT_MAX_FAN_IN = 64;
+    private static final int MIN_FAN_IN = 2;
+    //enough for any unsigned varint of a non-negative long
+    private static final int MAX_VARINT_LENGTH = 9;
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int VARINT_PAYLOAD_MASK = 0x7F;
+    private static final int VARINT_CONTINUATION = 0x80;
+
+    private final Path tempDirectory;
+    private final long[] run;
+    private final int maxFanIn;
+    private final List<Path> runFiles = new ArrayList<>();
+    private int runLength;
+    private long keys;
+
+    public ExternalReleaseSorter(Path tempDirectory, int runSize) {
+        this(tempDirectory, runSize, DEFAULT_MAX_FAN_IN);
+    }
+
+    public ExternalReleaseSorter(Path tempDirectory, int runSize, int maxFanIn) {
+        if (runSize < 1) {
+            throw new IllegalArgumentException("Run size must be positive, found: " + runSize);
+        }
+        if (maxFanIn < MIN_FAN_IN) {
+            throw new IllegalArgumentException("Merge fan-in must be at least " + MIN_FAN_IN + ", found: " +
+                    maxFanIn);
+        }
+        this.tempDirectory = tempDirectory;
+        this.maxFanIn = maxFanIn;
+        run = new long[runSize];
+    }
+
+    public void add(long key) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Sort keys must not be negative, found: " + key);
+        }
+        if (runLength == run.length) {
+            spillRun();
+        }
+        run[runLength++] = key;
+        keys++;
+    }
+
+    public long size() {
+        return keys;
+    }
+
+    public int getSpilledRuns() {
+        return runFiles.size();
+    }
+
+    public void merge(LongConsumer consumer) throws IOException {
+        Arrays.sort(run, 0, runLength);
+        if (runFiles.isEmpty()) {
+            for (int i = 0; i < runLength; i++) {
+                consumer.accept(run[i]);
+            }
+            return;
+        }
+        LOGGER.info("Merging {} keys from {} spilled runs.", keys, runFiles.size());
+        while (runFiles.size() > maxFanIn) {
+            mergeOldestRuns();
+        }
+        mergeRuns(runFiles, runLength, consumer::accept);
+    }
+
+    //replaces the maxFanIn oldest runs with one run holding their keys
+    private void mergeOldestRuns() throws IOException {
+        List<Path> merged = new ArrayList<>(runFiles.subList(0, maxFanIn));
+        Path runFile = createRunFile();
+        try (RunWriter writer = new RunWriter(runFile)) {
+            mergeRuns(merged, 0, writer::write);
+        }
+        for (Path input : merged) {
+            Files.deleteIfExists(input);
+        }
+        runFiles.subList(0, maxFanIn).clear();
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Merged {} runs into {}, {} runs left.", maxFanIn, runFile, runFiles.size());
+        }
+    }
+
+    //k-way merge of the given run files with the first inMemoryLength keys of the sorted in-memory run
+    private void mergeRuns(List<Path> files, int inMemoryLength, KeySink sink) throws IOException {
+        PriorityQueue<RunReader> readers = new PriorityQueue<>((first, second) ->
+                Long.compare(first.current, second.current));
+        try {
+            for (Path runFile : files) {
+                RunReader reader = new RunReader(runFile);
+                if (reader.next()) {
+                    readers.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+            int inMemory = 0;
+            while (!readers.isEmpty()) {
+                RunReader reader = readers.poll();
+                while (inMemory < inMemoryLength && run[inMemory] <= reader.current) {
+                    sink.accept(run[inMemory++]);
+                }
+                sink.accept(reader.current);
+                if (reader.next()) {
+                    readers.add(reader);
+                } else {
+                    reader.close();
+                }
+            }
+            while (inMemory < inMemoryLength) {
+                sink.accept(run[inMemory++]);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    //deletes the spilled runs
+    @Override
+    public void close() throws IOException {
+        for (Path runFile : runFiles) {
+            Files.deleteIfExists(runFile);
+        }
+        runFiles.clear();
+    }
+
+    private void spillRun() {
+        Arrays.sort(run, 0, runLength);
+        try {
+            Path runFile = createRunFile();
+            try (RunWriter writer = new RunWriter(runFile)) {
+                for (int i = 0; i < runLength; i++) {
+                    writer.write(run[i]);
+                }
+            }
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Spilled run of {} keys to {}.", runLength, runFile);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not spill a sorted run to " + tempDirectory, e);
+        }
+        runLength = 0;
+    }
+
+    private Path createRunFile() throws IOException {
+        Path runFile = Files.createTempFile(tempDirectory, "release-run-", ".bin");
+        runFiles.add(runFile);
+        return runFile;
+    }
+
+    private static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~VARINT_PAYLOAD_MASK) != 0) {
+            buffer.put((byte) ((value & VARINT_PAYLOAD_MASK) | VARINT_CONTINUATION));
+            value >>>= VARINT_PAYLOAD_BITS;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @FunctionalInterface
+    private interface KeySink {
+        void accept(long key) throws IOException;
+    }
+
+    //writes ascending keys as varint gaps
+    private static final class RunWriter implements Closeable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private long previous;
+
+        private RunWriter(Path runFile) throws IOException {
+            channel = FileChannel.open(runFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        private void write(long key) throws IOException {
+            if (buffer.remaining() < MAX_VARINT_LENGTH) {
+                writeFully(channel, buffer);
+            }
+            putVarint(buffer, key - previous);
+            previous = key;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                writeFully(channel, buffer);
+            } finally {
+                channel.close();
+            }
+        }
+
+    }
+
+    private static final class RunReader implements Closeable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private long current;
+
+        private RunReader(Path runFile) throws IOException {
+            channel = FileChannel.open(runFile, StandardOpenOption.READ);
+            buffer.limit(0);
+        }
+
+        //adds the next gap to current; false once the run is exhausted
+        private boolean next() throws IOException {
+            long gap = 0;
+            int shift = 0;
+            while (true) {
+                if (!buffer.hasRemaining() && !fill()) {
+                    if (shift > 0) {
+                        throw new IOException("Truncated run file");
+                    }
+                    return false;
+                }
+                byte current = buffer.get();
+                gap |= (long) (current & VARINT_PAYLOAD_MASK) << shift;
+                if ((current & VARINT_CONTINUATION) == 0) {
+                    this.current += gap;
+                    return true;
+                }
+                shift += VARINT_PAYLOAD_BITS;
+            }
+        }
+
+        private boolean fill() throws IOException {
+            buffer.clear();
+            int read = channel.read(buffer);
+            buffer.flip();
+            return read > 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+    }
+
+}
@@ -1,5 +1,11 @@
 package com.nda.util;
 
+import com.nda.common.LaneSchedule;
+import com.nda.common.ReleaseTable;
+import com.nda.exception.InputValidationException;
+import com.nda.metrics.Phase;
+import com.nda.metrics.PhaseScope;
+import com.nda.metrics.SchedulerMetrics;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -7,6 +13,8 @@ import java.io.*;
 import java.nio.file.*;
 import java.util.*;
 
+import static com.nda.common.Constants.*;
+
 public class FileUtil {
     private static final Logger LOGGER = LogManager.getLogger(FileUtil.class);
 
@@ -14,11 +22,13 @@ public class FileUtil {
         LOGGER.info("Reading input file. File path: {}.", inputFileName);
         List<String> lines = new ArrayList<>();
 
+        PhaseScope readPhase = SchedulerMetrics.begin(Phase.READ);
         try (BufferedReader reader = createBufferedReader(inputFileName)) {
             String line;
             while ((line = reader.readLine()) != null) {
                 lines.add(line);
             }
+            readPhase.end(lines.size(), lines.size());
             LOGGER.info("Finished reading input file.");
         } catch (FileNotFoundException e) {
             LOGGER.error("The file {} does not exist.", inputFileName);
@@ -31,18 +41,86 @@ public class FileUtil {
         return lines;
     }
 
+    /**
+     * Loads a release input file in either the text or the binary form, detected from the file's first bytes,
+     * applying the same validation to both.
+     */
+    public static ReleaseTable readReleaseTable(String inputFileName, int sprintLength) throws IOException {
+        Path inputPath = Paths.get(inputFileName);
+        if (Files.isRegularFile(inputPath) && BinaryReleaseFormat.isBinary(inputPath)) {
+            LOGGER.info("Reading binary input file. File path: {}.", inputFileName);
+            TableUtil.validateSprintLength(sprintLength);
+            validateInputHeader(BinaryReleaseFormat.readHeader(inputPath), sprintLength);
+            PhaseScope readPhase = SchedulerMetrics.begin(Phase.READ);
+            ReleaseTable releases = BinaryReleaseFormat.read(inputPath);
+            validateReleaseTable(releases, sprintLength);
+            readPhase.end(releases.size(), releases.size());
+            LOGGER.info("Finished reading input file.");
+            return releases;
+        }
+        return MappedInputParser.parseInputTable(inputFileName, sprintLength);
+    }
+
+    /**
+     * Loads a result table in the text form of output/*.txt: a row count line, then [start day, finish day] rows
+     * inside the sprint, validated with the same messages as input files. Reads the file line by line.
+     */
+    public static ReleaseTable readResultTable(String resultFileName, int sprintLength) throws IOException {
+        LOGGER.info("Reading result file. File path: {}.", resultFileName);
+        TableUtil.validateSprintLength(sprintLength);
+        ReleaseTable table = new ReleaseTable();
+        int lineNumber = 0;
+        int expectedRows = -1;
+        try (BufferedReader reader = createBufferedReader(resultFileName)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmedLine = line.trim();
+                if (trimmedLine.isEmpty()) {
+                    continue;
+                }
+                try {
+                    String[] parts = trimmedLine.split("\\s+");
+                    if (expectedRows < 0) {
+                        expectedRows = parseResultRowCount(parts, lineNumber);
+                        continue;
+                    }
+                    if (parts.length != NUM_COLUMNS) {
+                        throw new InputValidationException("Invalid structure: expected " + NUM_COLUMNS +
+                                " integers, found " + parts.length);
+                    }
+                    int startDay = parseInteger(parts[START_DAY_INDEX], lineNumber);
+                    int finishDay = parseInteger(parts[FINISH_INDEX], lineNumber);
+                    TableUtil.validateReleaseDay(startDay, sprintLength);
+                    TableUtil.validateFinishDay(startDay, finishDay, sprintLength);
+                    table.add(startDay, finishDay);
+                } catch (InputValidationException ex) {
+                    throw new InputValidationException("Error at line " + lineNumber + ": " + ex.getMessage());
+                }
+            }
+        }
+        if (expectedRows >= 0 && expectedRows != table.size()) {
+            throw new InputValidationException("Result table declares " + expectedRows + " rows, found: " +
+                    table.size());
+        }
+        LOGGER.info("Finished reading result file.");
+        return table;
+    }
+
     public static void writeResultTableToFile(List<int[]> resultTable, String outputFileName) throws IOException {
         LOGGER.info("Writing output file...");
         Path outputPath = Paths.get(outputFileName);
         Path parentDir = outputPath.getParent();
         try {
             createParentDirectoriesIfNotExist(parentDir);
-            try (BufferedWriter writer = Files.newBufferedWriter(outputPath)) {
-                writer.write(resultTable.size() + "\n");
+            PhaseScope writePhase = SchedulerMetrics.begin(Phase.WRITE);
+            try (ResultTableWriter writer = new ResultTableWriter(outputPath)) {
+                writer.writeLine(resultTable.size());
                 for (int[] row : resultTable) {
-                    writeRow(writer, row);
+                    writer.writeRow(row);
                 }
             }
+            writePhase.end(resultTable.size(), resultTable.size());
         } catch (IOException e) {
             LOGGER.error("An error occurred while writing the output file: ", e);
             throw e;
@@ -50,6 +128,96 @@ public class FileUtil {
         LOGGER.info("Finished writing output file. File path: {}.", outputPath);
     }
 
+    public static void writeResultTableToFile(ReleaseTable resultTable, String outputFileName) throws IOException {
+        LOGGER.info("Writing output file...");
+        Path outputPath = Paths.get(outputFileName);
+        Path parentDir = outputPath.getParent();
+        try {
+            createParentDirectoriesIfNotExist(parentDir);
+            PhaseScope writePhase = SchedulerMetrics.begin(Phase.WRITE);
+            try (ResultTableWriter writer = new ResultTableWriter(outputPath)) {
+                writer.writeLine(resultTable.size());
+                for (int row = 0; row < resultTable.size(); row++) {
+                    writer.writeRow(resultTable.getStartDay(row), resultTable.getFinish(row));
+                }
+            }
+            writePhase.end(resultTable.size(), resultTable.size());
+        } catch (IOException e) {
+            LOGGER.error("An error occurred while writing the output file: ", e);
+            throw e;
+        }
+        LOGGER.info("Finished writing output file. File path: {}.", outputPath);
+    }
+
+    //same layout as the other outputs with the tester lane as a third column
+    public static void writeLaneScheduleToFile(LaneSchedule schedule, String outputFileName) throws IOException {
+        LOGGER.info("Writing output file...");
+        Path outputPath = Paths.get(outputFileName);
+        Path parentDir = outputPath.getParent();
+        try {
+            createParentDirectoriesIfNotExist(parentDir);
+            PhaseScope writePhase = SchedulerMetrics.begin(Phase.WRITE);
+            ReleaseTable releases = schedule.releases();
+            try (ResultTableWriter writer = new ResultTableWriter(outputPath)) {
+                writer.writeLine(releases.size());
+                for (int row = 0; row < releases.size(); row++) {
+                    writer.writeRow(releases.getStartDay(row), releases.getFinish(row), schedule.getLane(row));
+                }
+            }
+            writePhase.end(releases.size(), releases.size());
+        } catch (IOException e) {
+            LOGGER.error("An error occurred while writing the output file: ", e);
+            throw e;
+        }
+        LOGGER.info("Finished writing output file. File path: {}.", outputPath);
+    }
+
+    //a RESULT file holds finish days, not estimations, and must not be scheduled as releases
+    private static void validateInputHeader(BinaryReleaseFormat.Header header, int sprintLength) {
+        if (header.kind() != BinaryReleaseFormat.Kind.INPUT) {
+            throw new InputValidationException("Binary file holds a " + header.kind() + " table, expected " +
+                    BinaryReleaseFormat.Kind.INPUT);
+        }
+        if (header.sprintLength() > sprintLength) {
+            throw new InputValidationException("Binary file was written for a sprint of " + header.sprintLength() +
+                    " days, longer than the sprint length: " + sprintLength);
+        }
+    }
+
+    private static int parseResultRowCount(String[] parts, int lineNumber) throws InputValidationException {
+        if (parts.length != 1) {
+            throw new InputValidationException("Invalid structure: expected the row count, found " + parts.length +
+                    " integers");
+        }
+        int rowCount = parseInteger(parts[0], lineNumber);
+        if (rowCount < 0) {
+            throw new InputValidationException("Negative row count found: " + rowCount);
+        }
+        return rowCount;
+    }
+
+    private static int parseInteger(String value, int lineNumber) throws InputValidationException {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new InputValidationException("Invalid integer on line " + lineNumber + ": " + e.getMessage());
+        }
+    }
+
+    private static void validateReleaseTable(ReleaseTable releases, int sprintLength) {
+        for (int row = 0; row < releases.size(); row++) {
+            try {
+                TableUtil.validateReleaseDay(releases.getStartDay(row), sprintLength);
+                TableUtil.validateEstimation(releases.getFinish(row));
+                if (releases.hasWeights()) {
+                    TableUtil.validateWeight(releases.getWeight(row));
+                }
+            } catch (InputValidationException ex) {
+                throw new InputValidationException("Error at row " + (row + 1) + ": " + ex.getMessage());
+            }
+        }
+    }
+
     private static void createParentDirectoriesIfNotExist(Path parentDir) throws IOException {
         if (parentDir == null) {
             LOGGER.warn("Parent directory path is null");
@@ -66,18 +234,6 @@ public class FileUtil {
         }
     }
 
-    private static void writeRow(BufferedWriter writer, int[] row) throws IOException {
-        try {
-            String rowString = Arrays.stream(row)
-                    .mapToObj(String::valueOf)
-                    .reduce((a, b) -> a + " " + b)
-                    .orElse("") + "\n";
-            writer.write(rowString);
-        } catch (IOException e) {
-            throw new IOException("Failed to write row: " + Arrays.toString(row), e);
-        }
-    }
-
     private static BufferedReader createBufferedReader(String inputFileName) throws FileNotFoundException {
         InputStream inputStream = new FileInputStream(inputFileName);
         return new BufferedReader(new InputStreamReader(inputStream));
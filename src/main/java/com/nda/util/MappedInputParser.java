@@ -0,0 +1,375 @@
+package com.nda.util;
+
+import com.nda.common.ReleaseTable;
+import com.nda.exception.InputValidationException;
+import com.nda.metrics.Phase;
+import com.nda.metrics.PhaseScope;
+import com.nda.metrics.SchedulerMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.nda.common.Constants.*;
+
+/**
+ * Parses a release file straight from a memory-mapped view of its bytes, without creating a String per line.
+ * Accepts the same format and reports the same validation errors as {@link TableUtil#parseInputToTable}.
+ * <p>
+ * {@link #parseInputTable(String, int)} splits large files into chunks cut at line breaks and parses them on
+ * separate cores. Chunks count their lines locally, and the first failing chunk is parsed again once the line
+ * counts of the chunks before it are known, so errors carry the same line numbers as a sequential parse.
+ */
+public class MappedInputParser {
+    private static final Logger LOGGER = LogManager.getLogger(MappedInputParser.class);
+
+    private static final int MAX_REGION_SIZE = Integer.MAX_VALUE;
+    private static final int NO_TOKEN = -1;
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    private static final int LINE_BREAK_SCAN_SIZE = 1 << 12;
+
+    private final int sprintLength;
+    private final ReleaseConsumer consumer;
+
+    private int lineNumber;
+    private int rowCount;
+    //rows of one chunk when parsing into a table, the consumer then adds unweighted rows to it
+    private ReleaseTable releases;
+    //rows when parsing into a list, likewise
+    private List<int[]> rows;
+    private boolean skipLineFeed;
+    private int tokenCount;
+    private int tokenStart = NO_TOKEN;
+    private final int[] tokenStarts = new int[WEIGHTED_NUM_COLUMNS];
+    private final int[] tokenEnds = new int[WEIGHTED_NUM_COLUMNS];
+
+    private MappedInputParser(int sprintLength, ReleaseConsumer consumer) {
+        this.sprintLength = sprintLength;
+        this.consumer = consumer;
+    }
+
+    //weighted rows keep their weight as a third column, as in TableUtil
+    public static List<int[]> parseInputFile(String inputFileName, int sprintLength) throws IOException {
+        List<int[]> parsedTable = new ArrayList<>();
+        MappedInputParser parser = new MappedInputParser(sprintLength,
+                (releaseDay, estimation) -> parsedTable.add(new int[]{releaseDay, estimation}));
+        parser.rows = parsedTable;
+        parseInputFile(inputFileName, parser);
+        return parsedTable;
+    }
+
+    public static void parseInputFile(String inputFileName, int sprintLength, ReleaseConsumer consumer)
+            throws IOException, InputValidationException {
+        parseInputFile(inputFileName, new MappedInputParser(sprintLength, consumer));
+    }
+
+    private static void parseInputFile(String inputFileName, MappedInputParser parser)
+            throws IOException, InputValidationException {
+        TableUtil.validateSprintLength(parser.sprintLength);
+        LOGGER.info("Parsing memory-mapped input file. File path: {}.", inputFileName);
+
+        PhaseScope parsePhase = SchedulerMetrics.begin(Phase.PARSE);
+        try (FileChannel channel = FileChannel.open(Path.of(inputFileName), StandardOpenOption.READ)) {
+            parser.parseChannel(channel);
+            parsePhase.end(parser.lineNumber, parser.rowCount);
+        } catch (IOException e) {
+            LOGGER.error("An I/O error occurred while reading the file {}: {}", inputFileName, e.getMessage());
+            throw e;
+        }
+        LOGGER.info("Finished parsing input file.");
+    }
+
+    public static ReleaseTable parseInputTable(String inputFileName, int sprintLength) throws IOException {
+        long fileSize = Files.size(Path.of(inputFileName));
+        int chunkCount = (int) Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(),
+                fileSize / MIN_CHUNK_SIZE));
+        return parseInputTable(inputFileName, sprintLength, chunkCount);
+    }
+
+    public static ReleaseTable parseInputTable(String inputFileName, int sprintLength, int chunkCount)
+            throws IOException, InputValidationException {
+        TableUtil.validateSprintLength(sprintLength);
+        LOGGER.info("Parsing memory-mapped input file in {} chunks. File path: {}.", chunkCount, inputFileName);
+
+        PhaseScope parsePhase = SchedulerMetrics.begin(Phase.PARSE);
+        try (FileChannel channel = FileChannel.open(Path.of(inputFileName), StandardOpenOption.READ)) {
+            long[] bounds = splitAtLineBreaks(channel, chunkCount);
+            List<CompletableFuture<MappedInputParser>> chunks = new ArrayList<>();
+            for (int chunk = 0; chunk + 1 < bounds.length; chunk++) {
+                long from = bounds[chunk];
+                long to = bounds[chunk + 1];
+                //a single chunk is parsed on the calling thread, small files never wake the common pool
+                Executor executor = bounds.length == 2 ? Runnable::run : ForkJoinPool.commonPool();
+                chunks.add(CompletableFuture.supplyAsync(() -> parseChunk(channel, sprintLength, from, to, 0),
+                        executor));
+            }
+
+            List<ReleaseTable> tables = new ArrayList<>(chunks.size());
+            int lineCount = 0;
+            for (int chunk = 0; chunk < chunks.size(); chunk++) {
+                MappedInputParser parser;
+                try {
+                    parser = chunks.get(chunk).join();
+                } catch (CompletionException e) {
+                    //replays the failing chunk numbered after the chunks before it to throw the sequential error
+                    parser = rethrowWithLineOffset(e, channel, sprintLength, bounds[chunk], bounds[chunk + 1],
+                            lineCount);
+                }
+                tables.add(parser.releases);
+                lineCount += parser.lineNumber;
+            }
+            ReleaseTable releases = ReleaseTable.concat(tables);
+            parsePhase.end(lineCount, releases.size());
+            LOGGER.info("Finished parsing input file.");
+            return releases;
+        } catch (IOException e) {
+            LOGGER.error("An I/O error occurred while reading the file {}: {}", inputFileName, e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Parses a release table held in memory, e.g. a request body, from its position to its limit.
+     */
+    public static ReleaseTable parseInputTable(ByteBuffer input, int sprintLength) throws InputValidationException {
+        TableUtil.validateSprintLength(sprintLength);
+        ByteBuffer bytes = input.slice();
+        ReleaseTable releases = new ReleaseTable();
+        MappedInputParser parser = new MappedInputParser(sprintLength, releases::add);
+        parser.releases = releases;
+        parser.parseRegion(bytes, bytes.limit());
+        if (parser.tokenStart != NO_TOKEN || parser.tokenCount > 0) {
+            parser.finishLine(bytes, bytes.limit());
+        }
+        return releases;
+    }
+
+    //chunk bounds moved forward to just past a line break, CRLF kept whole, empty chunks dropped
+    private static long[] splitAtLineBreaks(FileChannel channel, int chunkCount) throws IOException {
+        long fileSize = channel.size();
+        long[] bounds = new long[chunkCount + 1];
+        int boundCount = 1;
+        ByteBuffer window = ByteBuffer.allocate(LINE_BREAK_SCAN_SIZE);
+        for (int chunk = 1; chunk < chunkCount; chunk++) {
+            long bound = nextLineStart(channel, window, Math.max(fileSize * chunk / chunkCount,
+                    bounds[boundCount - 1]));
+            if (bound > bounds[boundCount - 1] && bound < fileSize) {
+                bounds[boundCount++] = bound;
+            }
+        }
+        bounds[boundCount++] = fileSize;
+        return Arrays.copyOf(bounds, boundCount);
+    }
+
+    private static long nextLineStart(FileChannel channel, ByteBuffer window, long position) throws IOException {
+        boolean afterCarriageReturn = false;
+        while (true) {
+            window.clear();
+            int read = channel.read(window, position);
+            if (read <= 0) {
+                return position;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = window.get(i);
+                if (afterCarriageReturn) {
+                    return b == '\n' ? position + i + 1 : position + i;
+                }
+                if (b == '\n') {
+                    return position + i + 1;
+                }
+                afterCarriageReturn = b == '\r';
+            }
+            position += read;
+        }
+    }
+
+    private static MappedInputParser parseChunk(FileChannel channel, int sprintLength, long from, long to,
+                                                int firstLineNumber) {
+        ReleaseTable releases = new ReleaseTable();
+        MappedInputParser parser = new MappedInputParser(sprintLength, releases::add);
+        parser.releases = releases;
+        parser.lineNumber = firstLineNumber;
+        try {
+            parser.parseRange(channel, from, to);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        parser.lineNumber -= firstLineNumber;
+        return parser;
+    }
+
+    private static MappedInputParser rethrowWithLineOffset(CompletionException failure, FileChannel channel,
+                                                           int sprintLength, long from, long to, int lineOffset)
+            throws IOException {
+        Throwable cause = failure.getCause();
+        if (cause instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) cause).getCause();
+        }
+        if (cause instanceof InputValidationException) {
+            return parseChunk(channel, sprintLength, from, to, lineOffset);
+        }
+        throw failure;
+    }
+
+    private void parseChannel(FileChannel channel) throws IOException {
+        parseRange(channel, 0, channel.size());
+    }
+
+    private void parseRange(FileChannel channel, long from, long to) throws IOException {
+        long position = from;
+        while (position < to) {
+            long regionSize = Math.min(MAX_REGION_SIZE, to - position);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+            boolean lastRegion = position + regionSize == to;
+            int limit = lastRegion ? (int) regionSize : findRegionEnd(buffer, (int) regionSize);
+            parseRegion(buffer, limit);
+            if (lastRegion && (tokenStart != NO_TOKEN || tokenCount > 0)) {
+                finishLine(buffer, limit);
+            }
+            position += limit;
+        }
+    }
+
+    //regions are cut right after a line break, so a token never spans two mappings
+    private static int findRegionEnd(ByteBuffer buffer, int regionSize) throws IOException {
+        for (int i = regionSize - 1; i >= 0; i--) {
+            byte b = buffer.get(i);
+            if (b == '\n' || b == '\r') {
+                return i + 1;
+            }
+        }
+        throw new IOException("Line is longer than " + MAX_REGION_SIZE + " bytes.");
+    }
+
+    private void parseRegion(ByteBuffer buffer, int limit) {
+        for (int i = 0; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == '\n' && skipLineFeed) {
+                skipLineFeed = false;
+                continue;
+            }
+            skipLineFeed = false;
+            if (b == '\n' || b == '\r') {
+                finishLine(buffer, i);
+                skipLineFeed = b == '\r';
+            } else if (isSeparator(b)) {
+                finishToken(i);
+            } else if (tokenStart == NO_TOKEN) {
+                tokenStart = i;
+            }
+        }
+    }
+
+    //the whitespace of the \s+ split in TableUtil; any other byte, including non-ASCII ones, belongs to a token
+    private static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\t' || b == 0x0B || b == '\f';
+    }
+
+    private void finishToken(int position) {
+        if (tokenStart == NO_TOKEN) {
+            return;
+        }
+        if (tokenCount < WEIGHTED_NUM_COLUMNS) {
+            tokenStarts[tokenCount] = tokenStart;
+            tokenEnds[tokenCount] = position;
+        }
+        tokenCount++;
+        tokenStart = NO_TOKEN;
+    }
+
+    private void finishLine(ByteBuffer buffer, int position) {
+        finishToken(position);
+        lineNumber++;
+        if (tokenCount > 0) {
+            try {
+                processLine(buffer);
+            } catch (InputValidationException ex) {
+                throw new InputValidationException("Error at line " + lineNumber + ": " + ex.getMessage());
+            }
+        }
+        tokenCount = 0;
+    }
+
+    private void processLine(ByteBuffer buffer) throws InputValidationException {
+        if (tokenCount != NUM_COLUMNS && tokenCount != WEIGHTED_NUM_COLUMNS) {
+            throw TableUtil.invalidStructure(tokenCount);
+        }
+
+        int releaseDay = parseInteger(buffer, tokenStarts[START_DAY_INDEX], tokenEnds[START_DAY_INDEX]);
+        int estimation = parseInteger(buffer, tokenStarts[FINISH_INDEX], tokenEnds[FINISH_INDEX]);
+
+        TableUtil.validateReleaseDay(releaseDay, sprintLength);
+        TableUtil.validateEstimation(estimation);
+        if (tokenCount == WEIGHTED_NUM_COLUMNS) {
+            int weight = parseInteger(buffer, tokenStarts[WEIGHT_INDEX], tokenEnds[WEIGHT_INDEX]);
+            TableUtil.validateWeight(weight);
+            //a ReleaseConsumer takes no weight, so only table and list parses keep the column
+            if (releases != null) {
+                releases.add(releaseDay, estimation, weight);
+                rowCount++;
+                return;
+            }
+            if (rows != null) {
+                rows.add(new int[]{releaseDay, estimation, weight});
+                rowCount++;
+                return;
+            }
+        }
+
+        consumer.accept(releaseDay, estimation);
+        rowCount++;
+    }
+
+    //same accepted syntax and overflow rules as Integer.parseInt, accumulated negatively to reach MIN_VALUE
+    private int parseInteger(ByteBuffer buffer, int start, int end) throws InputValidationException {
+        int i = start;
+        boolean negative = false;
+        byte first = buffer.get(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+            if (i == end) {
+                throw invalidInteger(buffer, start, end);
+            }
+        }
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int multiplyLimit = limit / 10;
+        int result = 0;
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                throw invalidInteger(buffer, start, end);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw invalidInteger(buffer, start, end);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    private InputValidationException invalidInteger(ByteBuffer buffer, int start, int end) {
+        byte[] token = new byte[end - start];
+        buffer.get(start, token);
+        String input = new String(token, StandardCharsets.UTF_8);
+        return new InputValidationException("Invalid integer on line " + lineNumber + ": " +
+                "For input string: \"" + input + "\"");
+    }
+
+}
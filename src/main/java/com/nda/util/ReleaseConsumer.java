@@ -0,0 +1,8 @@
+package com.nda.util;
+
+@FunctionalInterface
+public interface ReleaseConsumer {
+
+    void accept(int releaseDay, int estimation);
+
+}
@@ -0,0 +1,81 @@
+package com.nda.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Writes synthetic release files in the input file format. The same arguments and seed always produce the same
+ * file, so a workload can be recreated anywhere from its parameters alone.
+ */
+public class ReleaseGenerator {
+
+    private static final Logger LOGGER = LogManager.getLogger(ReleaseGenerator.class);
+
+    //mean distance from the last day for SPRINT_END, in tenths of the sprint
+    private static final int SPRINT_FRACTION = 10;
+    //Pareto shape of HEAVY_TAILED estimations: finite mean, infinite variance
+    private static final double PARETO_SHAPE = 1.5;
+
+    public enum StartDays {
+        UNIFORM,
+        //exponentially more releases towards the last day, as teams hand over late in the sprint
+        SPRINT_END
+    }
+
+    public enum Estimations {
+        //any length from one day to the whole sprint
+        UNIFORM,
+        //mostly one or two days with a long tail of releases up to the whole sprint
+        HEAVY_TAILED
+    }
+
+    private ReleaseGenerator() {
+    }
+
+    public static void generate(Path outputPath, int rows, int sprintLength, StartDays startDays,
+                                Estimations estimations, long seed) throws IOException {
+        TableUtil.validateSprintLength(sprintLength);
+        if (rows < 0) {
+            throw new IllegalArgumentException("Row count must not be negative, found: " + rows);
+        }
+        Path parent = outputPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        try (ResultTableWriter writer = new ResultTableWriter(outputPath)) {
+            for (int row = 0; row < rows; row++) {
+                int startDay = nextStartDay(random, sprintLength, startDays);
+                writer.writeRow(startDay, nextEstimation(random, sprintLength, estimations));
+            }
+        }
+        LOGGER.info("Generated {} releases ({} start days, {} estimations) in {}.", rows, startDays, estimations,
+                outputPath);
+    }
+
+    private static int nextStartDay(SplittableRandom random, int sprintLength, StartDays startDays) {
+        if (startDays == StartDays.UNIFORM) {
+            return 1 + random.nextInt(sprintLength);
+        }
+        double meanDistance = Math.max(1.0, (double) sprintLength / SPRINT_FRACTION);
+        double distance = -Math.log(1.0 - random.nextDouble()) * meanDistance;
+        return (int) Math.max(1, sprintLength - (long) distance);
+    }
+
+    //estimations past the sprint length never fit, so capping them there keeps the file loadable without
+    //changing any schedule
+    private static int nextEstimation(SplittableRandom random, int sprintLength, Estimations estimations) {
+        if (estimations == Estimations.UNIFORM) {
+            return 1 + random.nextInt(sprintLength);
+        }
+        double estimation = Math.pow(1.0 - random.nextDouble(), -1.0 / PARETO_SHAPE);
+        return (int) Math.min(sprintLength, (long) estimation);
+    }
+
+}
@@ -0,0 +1,257 @@
+package com.nda.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+
+/**
+ * On-disk cache of result files keyed by the input file's content, the sprint length, the mode and
+ * {@link #VERSION}, so entries stored by a build that selected or wrote releases differently are never served.
+ * <p>
+ * The content key combines CRC32C and CRC32 of the input bytes, both hardware accelerated, with the file size.
+ * An entry is a header line "&lt;input rows&gt; &lt;selected rows&gt;" followed by the exact result file text,
+ * so a hit is one file-to-file transfer with nothing parsed or solved. Entries are published by an atomic rename,
+ * so other processes see either a whole entry or none. Hits refresh the entry's modification time, and after
+ * each store the least recently used entries are evicted under a file lock until the cache fits its size limit.
+ */
+public class ResultCache {
+    private static final Logger LOGGER = LogManager.getLogger(ResultCache.class);
+
+    //bump whenever a change alters the selected releases, their tie-breaking or the result file format
+    public static final int VERSION = 1;
+
+    private static final String ENTRY_SUFFIX = ".entry";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String LOCK_FILE = "cache.lock";
+    private static final int MAX_HEADER_LENGTH = 32;
+    private static final int MAX_REGION_SIZE = Integer.MAX_VALUE;
+    //temp files this old were left behind by a process that died before publishing its entry
+    private static final Duration STALE_TEMP_FILE_AGE = Duration.ofHours(1);
+    //FileLock is per process, threads of one process queue here first
+    private static final Object EVICTION_LOCK = new Object();
+
+    public enum Mode {
+        WITHOUT_SHIFT,
+        WITH_SHIFT
+    }
+
+    public record Entry(int releases, int selectedReleases) {
+    }
+
+    private final Path directory;
+    private final long maxBytes;
+
+    public ResultCache(Path directory, long maxBytes) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Cache size must be positive, found: " + maxBytes);
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Content key of a file, shared by every mode and sprint length of that input.
+     */
+    public static String fingerprint(Path inputFile) throws IOException {
+        CRC32C crc32c = new CRC32C();
+        CRC32 crc32 = new CRC32();
+        try (FileChannel channel = FileChannel.open(inputFile, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            for (long position = 0; position < fileSize; position += MAX_REGION_SIZE) {
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(MAX_REGION_SIZE, fileSize - position));
+                crc32c.update(region.duplicate());
+                crc32.update(region);
+            }
+            return String.format("%08x%08x-%x", crc32c.getValue(), crc32.getValue(), fileSize);
+        }
+    }
+
+    /**
+     * Copies the cached result to the output file.
+     *
+     * @return the cached row counts, or empty on a miss
+     */
+    public Optional<Entry> restore(String fingerprint, int sprintLength, Mode mode, Path outputFile)
+            throws IOException {
+        Path entryFile = entryFile(fingerprint, sprintLength, mode);
+        try (FileChannel entry = FileChannel.open(entryFile, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(MAX_HEADER_LENGTH);
+            entry.read(header, 0);
+            Optional<Entry> counts = parseHeader(header);
+            if (counts.isEmpty()) {
+                LOGGER.warn("Ignoring a corrupted cache entry: {}", entryFile);
+                return Optional.empty();
+            }
+            createParentDirectories(outputFile);
+            try (FileChannel output = FileChannel.open(outputFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long position = headerLength(header);
+                long size = entry.size();
+                while (position < size) {
+                    position += entry.transferTo(position, size - position, output);
+                }
+            }
+            touch(entryFile);
+            LOGGER.info("Restored cached result to {}.", outputFile);
+            return counts;
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    public void store(String fingerprint, int sprintLength, Mode mode, Entry counts, Path resultFile)
+            throws IOException {
+        Files.createDirectories(directory);
+        Path tempFile = Files.createTempFile(directory, fingerprint, TEMP_SUFFIX);
+        try {
+            try (FileChannel entry = FileChannel.open(tempFile, StandardOpenOption.WRITE);
+                 FileChannel result = FileChannel.open(resultFile, StandardOpenOption.READ)) {
+                ByteBuffer header = ByteBuffer.wrap((counts.releases() + " " + counts.selectedReleases() + "\n")
+                        .getBytes(StandardCharsets.US_ASCII));
+                while (header.hasRemaining()) {
+                    entry.write(header);
+                }
+                long position = 0;
+                long size = result.size();
+                while (position < size) {
+                    position += result.transferTo(position, size - position, entry);
+                }
+            }
+            Files.move(tempFile, entryFile(fingerprint, sprintLength, mode), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        evictLeastRecentlyUsed();
+    }
+
+    private void evictLeastRecentlyUsed() throws IOException {
+        synchronized (EVICTION_LOCK) {
+            try (FileChannel lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE)) {
+                FileLock lock = lockChannel.lock();
+                try {
+                    evictUntilWithinLimit();
+                } finally {
+                    lock.release();
+                }
+            }
+        }
+    }
+
+    //callers hold the eviction lock
+    private void evictUntilWithinLimit() throws IOException {
+        List<CachedFile> entries = new ArrayList<>();
+        long totalBytes = 0;
+        Instant staleBefore = Instant.now().minus(STALE_TEMP_FILE_AGE);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                BasicFileAttributes attributes = readAttributes(file);
+                if (attributes == null) {
+                    continue;
+                }
+                String name = file.getFileName().toString();
+                if (name.endsWith(ENTRY_SUFFIX)) {
+                    entries.add(new CachedFile(file, attributes.size(), attributes.lastModifiedTime()));
+                    totalBytes += attributes.size();
+                } else if (name.endsWith(TEMP_SUFFIX)
+                        && attributes.lastModifiedTime().toInstant().isBefore(staleBefore)) {
+                    deleteQuietly(file);
+                }
+            }
+        }
+        entries.sort(Comparator.comparing(CachedFile::lastModified));
+        for (int i = 0; i < entries.size() && totalBytes > maxBytes; i++) {
+            if (deleteQuietly(entries.get(i).path())) {
+                totalBytes -= entries.get(i).size();
+            }
+        }
+    }
+
+    private Path entryFile(String fingerprint, int sprintLength, Mode mode) {
+        return directory.resolve(fingerprint + "-" + sprintLength + "-" + mode.name().toLowerCase(Locale.ROOT) +
+                "-v" + VERSION + ENTRY_SUFFIX);
+    }
+
+    private static Optional<Entry> parseHeader(ByteBuffer header) {
+        String text = new String(header.array(), 0, header.position(), StandardCharsets.US_ASCII);
+        int lineEnd = text.indexOf('\n');
+        if (lineEnd < 0) {
+            return Optional.empty();
+        }
+        String[] counts = text.substring(0, lineEnd).split(" ");
+        try {
+            return counts.length == 2
+                    ? Optional.of(new Entry(Integer.parseInt(counts[0]), Integer.parseInt(counts[1])))
+                    : Optional.empty();
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static int headerLength(ByteBuffer header) {
+        for (int i = 0; i < header.position(); i++) {
+            if (header.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return header.position();
+    }
+
+    //an entry evicted by another process between listing and reading is simply skipped
+    private static BasicFileAttributes readAttributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            LOGGER.debug("Could not refresh cache entry {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static boolean deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+            return true;
+        } catch (IOException e) {
+            LOGGER.debug("Could not delete cache file {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    private static void createParentDirectories(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+    }
+
+    private record CachedFile(Path path, long size, FileTime lastModified) {
+    }
+
+}
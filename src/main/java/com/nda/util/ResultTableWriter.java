@@ -0,0 +1,109 @@
+package com.nda.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes space-separated integer rows by formatting digits straight into one reusable buffer that is flushed
+ * to a {@link FileChannel}, or any other channel, in large chunks, so no String is created per value or per row.
+ */
+public class ResultTableWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    //enough for the sign and all digits of Integer.MIN_VALUE
+    private static final int MAX_INT_LENGTH = 11;
+    private static final byte SPACE = ' ';
+    private static final byte NEW_LINE = '\n';
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final byte[] digits = new byte[MAX_INT_LENGTH];
+
+    public ResultTableWriter(Path outputPath) throws IOException {
+        this(FileChannel.open(outputPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    public ResultTableWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    public void writeRow(int first, int second) throws IOException {
+        writeInt(first);
+        writeByte(SPACE);
+        writeInt(second);
+        writeByte(NEW_LINE);
+    }
+
+    public void writeRow(int first, int second, int third) throws IOException {
+        writeInt(first);
+        writeByte(SPACE);
+        writeInt(second);
+        writeByte(SPACE);
+        writeInt(third);
+        writeByte(NEW_LINE);
+    }
+
+    public void writeRow(int[] row) throws IOException {
+        for (int column = 0; column < row.length; column++) {
+            if (column > 0) {
+                writeByte(SPACE);
+            }
+            writeInt(row[column]);
+        }
+        writeByte(NEW_LINE);
+    }
+
+    public void writeLine(int value) throws IOException {
+        writeInt(value);
+        writeByte(NEW_LINE);
+    }
+
+    public void writeInt(int value) throws IOException {
+        if (buffer.remaining() < MAX_INT_LENGTH) {
+            flush();
+        }
+        //digits are produced from the negative value so Integer.MIN_VALUE needs no special case
+        int remaining = value < 0 ? value : -value;
+        int position = MAX_INT_LENGTH;
+        do {
+            int quotient = remaining / 10;
+            digits[--position] = (byte) ('0' + (quotient * 10 - remaining));
+            remaining = quotient;
+        } while (remaining != 0);
+        if (value < 0) {
+            digits[--position] = '-';
+        }
+        buffer.put(digits, position, MAX_INT_LENGTH - position);
+    }
+
+    public void writeByte(byte value) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put(value);
+    }
+
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+}
@@ -1,6 +1,9 @@
 package com.nda.util;
 
 import com.nda.exception.InputValidationException;
+import com.nda.metrics.Phase;
+import com.nda.metrics.PhaseScope;
+import com.nda.metrics.SchedulerMetrics;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -14,6 +17,7 @@ public class TableUtil {
 
         List<int[]> parsedTable = new ArrayList<>();
         int lineNumber = 0;
+        PhaseScope parsePhase = SchedulerMetrics.begin(Phase.PARSE);
 
         for (String line : lines) {
             lineNumber++;
@@ -28,6 +32,7 @@ public class TableUtil {
                 throw new InputValidationException("Error at line " + lineNumber + ": " + ex.getMessage());
             }
         }
+        parsePhase.end(lines.size(), parsedTable.size());
         return parsedTable;
     }
 
@@ -36,12 +41,11 @@ public class TableUtil {
         String[] parts = line.split("\\s+");
         int partsCount = parts.length;
 
-        if (partsCount != NUM_COLUMNS) {
-            throw new InputValidationException("Invalid structure: expected " + NUM_COLUMNS + " integers, " +
-                    "found " + partsCount);
+        if (partsCount != NUM_COLUMNS && partsCount != WEIGHTED_NUM_COLUMNS) {
+            throw invalidStructure(partsCount);
         }
 
-        int[] currentRelease = new int[NUM_COLUMNS];
+        int[] currentRelease = new int[partsCount];
 
         try {
             int releaseDay = Integer.parseInt(parts[START_DAY_INDEX]);
@@ -52,30 +56,54 @@ public class TableUtil {
 
             currentRelease[START_DAY_INDEX] = releaseDay;
             currentRelease[FINISH_INDEX] = estimation;
+
+            if (partsCount == WEIGHTED_NUM_COLUMNS) {
+                int weight = Integer.parseInt(parts[WEIGHT_INDEX]);
+                validateWeight(weight);
+                currentRelease[WEIGHT_INDEX] = weight;
+            }
         } catch (NumberFormatException e) {
             throw new InputValidationException("Invalid integer on line " + lineNumber + ": " + e.getMessage());
         }
         return currentRelease;
     }
 
-    private static void validateSprintLength(int sprintLength) throws InputValidationException {
+    static InputValidationException invalidStructure(int columns) {
+        return new InputValidationException("Invalid structure: expected " + NUM_COLUMNS + " or " +
+                WEIGHTED_NUM_COLUMNS + " integers, found " + columns);
+    }
+
+    static void validateSprintLength(int sprintLength) throws InputValidationException {
         if(sprintLength < 1) {
             throw new InputValidationException("Invalid sprint length provided. " +
                     "Expected value from 1, found: " + sprintLength);
         }
     }
 
-    private static void validateReleaseDay(int releaseDay, int sprintLength) throws InputValidationException {
+    static void validateReleaseDay(int releaseDay, int sprintLength) throws InputValidationException {
         if (releaseDay < SPRINT_START_DAY || releaseDay > sprintLength) {
             throw new InputValidationException("Invalid release day found. " +
                     "Expected value from " + SPRINT_START_DAY + " to " + sprintLength + ", found: " + releaseDay);
         }
     }
 
-    private static void validateEstimation(int estimation) throws InputValidationException {
+    static void validateFinishDay(int startDay, int finishDay, int sprintLength) throws InputValidationException {
+        if (finishDay < startDay || finishDay > sprintLength) {
+            throw new InputValidationException("Invalid finish day found. " +
+                    "Expected value from " + startDay + " to " + sprintLength + ", found: " + finishDay);
+        }
+    }
+
+    static void validateEstimation(int estimation) throws InputValidationException {
         if (estimation <= 0) {
             throw new InputValidationException("Negative or zero release estimation found: " + estimation );
         }
     }
 
+    static void validateWeight(int weight) throws InputValidationException {
+        if (weight <= 0) {
+            throw new InputValidationException("Negative or zero release weight found: " + weight);
+        }
+    }
+
 }
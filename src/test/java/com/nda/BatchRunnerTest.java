@@ -0,0 +1,83 @@
+package com.nda;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchRunnerTest {
+
+    @Test
+    public void shouldWriteResultsPerTeamWhenDirectoryProvided(@TempDir Path tempDir) throws Exception {
+        Path inputDir = Files.createDirectory(tempDir.resolve("input"));
+        Files.write(inputDir.resolve("alpha.txt"), Arrays.asList("1 2", "3 4", "5 6"));
+        Files.write(inputDir.resolve("beta.txt"), Arrays.asList("1 2", "3 2", "4 2"));
+        Files.write(inputDir.resolve("broken.txt"), List.of("a b"));
+        Path outputDir = tempDir.resolve("output");
+
+        List<BatchRunner.BatchResult> results = BatchRunner.run(inputDir.toString(), outputDir.toString(), 6);
+
+        assertAll("batch results",
+                () -> assertEquals(3, results.size()),
+                () -> assertEquals(2, results.get(0).summary().releasesWithoutShift()),
+                () -> assertEquals(3, results.get(1).summary().releasesWithShift()),
+                () -> assertFalse(results.get(2).isSuccessful()),
+                () -> assertEquals(List.of("2", "1 2", "3 6"), Files.readAllLines(outputDir.resolve("alpha/output.txt"))),
+                () -> assertEquals(List.of("3", "1 2", "3 4", "5 6"),
+                        Files.readAllLines(outputDir.resolve("beta/bonus_output.txt"))),
+                () -> assertEquals(5, Files.readAllLines(outputDir.resolve("summary.txt")).size())
+        );
+    }
+
+    @Test
+    public void shouldKeepExtensionWhenTeamNamesCollide(@TempDir Path tempDir) throws Exception {
+        Path inputDir = Files.createDirectory(tempDir.resolve("input"));
+        Files.write(inputDir.resolve("alpha.csv"), Arrays.asList("1 2", "3 4"));
+        Files.write(inputDir.resolve("alpha.txt"), Arrays.asList("1 2", "3 2", "4 2"));
+        Files.write(inputDir.resolve("beta.txt"), List.of("1 1"));
+        Path outputDir = tempDir.resolve("output");
+
+        List<BatchRunner.BatchResult> results = BatchRunner.run(inputDir.toString(), outputDir.toString(), 6);
+
+        assertAll("distinct teams",
+                () -> assertEquals(List.of("alpha.csv", "alpha.txt", "beta"),
+                        results.stream().map(BatchRunner.BatchResult::team).toList()),
+                () -> assertEquals(List.of("2", "1 2", "3 6"),
+                        Files.readAllLines(outputDir.resolve("alpha.csv/output.txt"))),
+                () -> assertEquals(List.of("3", "1 2", "3 4", "5 6"),
+                        Files.readAllLines(outputDir.resolve("alpha.txt/bonus_output.txt"))),
+                () -> assertTrue(Files.exists(outputDir.resolve("beta/output.txt")))
+        );
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTeamNamesStillCollide() {
+        List<Path> inputFiles = List.of(Path.of("a.txt"), Path.of("a.csv"), Path.of("a.txt.md"));
+
+        assertThrows(IllegalArgumentException.class, () -> BatchRunner.teamNames(inputFiles));
+    }
+
+    @Test
+    public void shouldResolveOnlyMatchingFilesWhenGlobProvided(@TempDir Path tempDir) throws IOException {
+        Files.createFile(tempDir.resolve("team1.txt"));
+        Files.createFile(tempDir.resolve("team2.txt"));
+        Files.createFile(tempDir.resolve("notes.md"));
+
+        List<Path> inputFiles = BatchRunner.resolveInputFiles(tempDir + "/team*.txt");
+
+        assertEquals(List.of(tempDir.resolve("team1.txt"), tempDir.resolve("team2.txt")), inputFiles);
+    }
+
+    @Test
+    public void shouldThrowNoSuchFileExceptionWhenDirectoryNotExist() {
+        assertThrows(NoSuchFileException.class, () -> BatchRunner.resolveInputFiles("noSuchDirectory"));
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.nda;
+
+import com.nda.common.ReleaseTable;
+import com.nda.exception.InputValidationException;
+import com.nda.util.BinaryReleaseFormat;
+import com.nda.util.FileUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryReleaseFormatTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @EnumSource(BinaryReleaseFormat.Encoding.class)
+    public void shouldReadSameTableWhenWrittenInBinary(BinaryReleaseFormat.Encoding encoding) throws IOException {
+        ReleaseTable table = new ReleaseTable();
+        for (int i = 0; i < 50000; i++) {
+            table.add(1 + i % 1000, i == 0 ? Integer.MAX_VALUE : 1 + i);
+        }
+        Path binaryFile = tempDir.resolve("releases.bin");
+
+        BinaryReleaseFormat.write(binaryFile, table, BinaryReleaseFormat.Kind.INPUT, encoding, 1000);
+        ReleaseTable actual = BinaryReleaseFormat.read(binaryFile);
+
+        assertAll("binary round trip",
+                () -> assertTrue(BinaryReleaseFormat.isBinary(binaryFile)),
+                () -> assertEquals(
+                        new BinaryReleaseFormat.Header(BinaryReleaseFormat.Kind.INPUT, encoding, 50000, 1000, false),
+                        BinaryReleaseFormat.readHeader(binaryFile)),
+                () -> assertArrayEquals(table.toList().toArray(), actual.toList().toArray())
+        );
+    }
+
+    @Test
+    public void shouldDetectBinaryAndTextFormWhenReadingReleaseTable() throws IOException {
+        Path textFile = tempDir.resolve("releases.txt");
+        Files.write(textFile, Arrays.asList("1 2", "3 4"));
+        Path binaryFile = tempDir.resolve("releases.bin");
+        BinaryReleaseFormat.write(binaryFile, FileUtil.readReleaseTable(textFile.toString(), 6),
+                BinaryReleaseFormat.Kind.INPUT, BinaryReleaseFormat.Encoding.VARINT, 6);
+
+        ReleaseTable actual = FileUtil.readReleaseTable(binaryFile.toString(), 6);
+
+        assertFalse(BinaryReleaseFormat.isBinary(textFile));
+        assertArrayEquals(new int[][]{{1, 2}, {3, 4}}, actual.toList().toArray());
+        assertThrows(InputValidationException.class, () -> FileUtil.readReleaseTable(binaryFile.toString(), 2));
+    }
+
+    @Test
+    public void shouldThrowEOFExceptionWhenFileTruncated() throws IOException {
+        Path binaryFile = tempDir.resolve("releases.bin");
+        BinaryReleaseFormat.write(binaryFile, ReleaseTable.fromList(List.of(new int[]{1, 2}, new int[]{3, 4})),
+                BinaryReleaseFormat.Kind.INPUT, BinaryReleaseFormat.Encoding.FIXED, 6);
+        byte[] bytes = Files.readAllBytes(binaryFile);
+        Files.write(binaryFile, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertThrows(EOFException.class, () -> BinaryReleaseFormat.read(binaryFile));
+    }
+
+    @ParameterizedTest
+    @EnumSource(BinaryReleaseFormat.Encoding.class)
+    public void shouldThrowEOFExceptionBeforeAllocatingWhenRowCountExceedsFileSize(
+            BinaryReleaseFormat.Encoding encoding) throws IOException {
+        Path binaryFile = tempDir.resolve("releases.bin");
+        BinaryReleaseFormat.write(binaryFile, ReleaseTable.fromList(List.of(new int[]{1, 2})),
+                BinaryReleaseFormat.Kind.INPUT, encoding, 6);
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(binaryFile)).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.putInt(8, Integer.MAX_VALUE);
+        Files.write(binaryFile, bytes.array());
+
+        assertAll("row count check",
+                () -> assertThrows(EOFException.class, () -> BinaryReleaseFormat.readHeader(binaryFile)),
+                () -> assertThrows(EOFException.class, () -> BinaryReleaseFormat.read(binaryFile))
+        );
+    }
+
+    @Test
+    public void shouldThrowIOExceptionWhenVarintIsLongerThanFiveBytes() throws IOException {
+        Path binaryFile = tempDir.resolve("releases.bin");
+        BinaryReleaseFormat.write(binaryFile, ReleaseTable.fromList(List.of(new int[]{1, 2})),
+                BinaryReleaseFormat.Kind.INPUT, BinaryReleaseFormat.Encoding.VARINT, 6);
+        byte[] bytes = Files.readAllBytes(binaryFile);
+        byte[] corrupt = Arrays.copyOf(bytes, bytes.length + 6);
+        Arrays.fill(corrupt, bytes.length - 2, corrupt.length - 1, (byte) 0xFF);
+        Files.write(binaryFile, corrupt);
+
+        IOException exception = assertThrows(IOException.class, () -> BinaryReleaseFormat.read(binaryFile));
+        assertTrue(exception.getMessage().contains("Corrupt varint"), exception.getMessage());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenResultFileIsReadAsReleases() throws IOException {
+        Path binaryFile = tempDir.resolve("output.bin");
+        BinaryReleaseFormat.write(binaryFile, ReleaseTable.fromList(List.of(new int[]{1, 2})),
+                BinaryReleaseFormat.Kind.RESULT, BinaryReleaseFormat.Encoding.VARINT, 6);
+        Path longerSprintFile = tempDir.resolve("releases.bin");
+        BinaryReleaseFormat.write(longerSprintFile, ReleaseTable.fromList(List.of(new int[]{1, 2})),
+                BinaryReleaseFormat.Kind.INPUT, BinaryReleaseFormat.Encoding.VARINT, 20);
+
+        assertAll("header checks",
+                () -> assertThrows(InputValidationException.class,
+                        () -> FileUtil.readReleaseTable(binaryFile.toString(), 6)),
+                () -> assertThrows(InputValidationException.class,
+                        () -> FileUtil.readReleaseTable(longerSprintFile.toString(), 10))
+        );
+    }
+
+    @Test
+    public void shouldConvertResultTableBothWaysWhenTextIsValid() throws IOException {
+        Path textFile = Files.write(tempDir.resolve("output.txt"), Arrays.asList("2", "1 2", "3 6"));
+        Path binaryFile = tempDir.resolve("output.bin");
+        Path roundTrip = tempDir.resolve("round_trip.txt");
+
+        ReleaseFileConverter.toBinary(textFile.toString(), binaryFile.toString(),
+                BinaryReleaseFormat.Encoding.VARINT, 6);
+        ReleaseFileConverter.toText(binaryFile.toString(), roundTrip.toString());
+
+        assertAll("result round trip",
+                () -> assertEquals(BinaryReleaseFormat.Kind.RESULT, BinaryReleaseFormat.readHeader(binaryFile).kind()),
+                () -> assertEquals(List.of("2", "1 2", "3 6"), Files.readAllLines(roundTrip))
+        );
+    }
+
+    @ParameterizedTest
+    @EnumSource(BinaryReleaseFormat.Encoding.class)
+    public void shouldKeepWeightsWhenWeightedTextIsConvertedBothWays(BinaryReleaseFormat.Encoding encoding)
+            throws IOException {
+        Path textFile = Files.write(tempDir.resolve("releases.txt"), Arrays.asList("1 2", "3 4 5", "2 1 300"));
+        Path binaryFile = tempDir.resolve("releases.bin");
+        Path roundTrip = tempDir.resolve("round_trip.txt");
+
+        ReleaseFileConverter.toBinary(textFile.toString(), binaryFile.toString(), encoding, 10);
+        ReleaseFileConverter.toText(binaryFile.toString(), roundTrip.toString());
+        ReleaseTable actual = FileUtil.readReleaseTable(binaryFile.toString(), 10);
+
+        assertAll("weighted round trip",
+                () -> assertTrue(BinaryReleaseFormat.readHeader(binaryFile).weighted()),
+                () -> assertArrayEquals(new int[]{1, 5, 300},
+                        IntStream.range(0, actual.size()).map(actual::getWeight).toArray()),
+                () -> assertEquals(List.of("1 2 1", "3 4 5", "2 1 300"), Files.readAllLines(roundTrip))
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2\n1 2\n3\n", "2\n1 2\n3 x\n", "1\n4 2\n", "1\n1 7\n", "2\n1 2\n", "x\n1 2\n"})
+    public void shouldThrowInputValidationExceptionWhenResultTableIsInvalid(String text) throws IOException {
+        Path textFile = Files.writeString(tempDir.resolve("output.txt"), text);
+
+        assertThrows(InputValidationException.class, () -> ReleaseFileConverter.toBinary(textFile.toString(),
+                tempDir.resolve("output.bin").toString(), BinaryReleaseFormat.Encoding.FIXED, 6));
+    }
+
+}
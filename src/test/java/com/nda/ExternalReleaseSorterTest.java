@@ -0,0 +1,139 @@
+package com.nda;
+
+import com.nda.common.ScheduleSummary;
+import com.nda.util.ExternalReleaseSorter;
+import com.nda.util.ReleaseGenerator;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExternalReleaseSorterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @RepeatedTest(10)
+    public void shouldMergeKeysInOrderWhenRunsAreSpilled(RepetitionInfo repetitionInfo) throws IOException {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        long[] keys = new long[1 + random.nextInt(2000)];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextBoolean() ? random.nextInt(100) : random.nextLong() >>> 1;
+        }
+        long[] merged = new long[keys.length];
+        int[] position = new int[1];
+
+        try (ExternalReleaseSorter sorter = new ExternalReleaseSorter(tempDir, 1 + random.nextInt(100))) {
+            for (long key : keys) {
+                sorter.add(key);
+            }
+            sorter.merge(key -> merged[position[0]++] = key);
+        }
+
+        Arrays.sort(keys);
+        assertAll("merged keys",
+                () -> assertEquals(keys.length, position[0]),
+                () -> assertArrayEquals(keys, merged),
+                () -> assertEquals(0, countFiles(tempDir))
+        );
+    }
+
+    @RepeatedTest(10)
+    public void shouldMergeInPassesWhenSpilledRunsExceedFanIn(RepetitionInfo repetitionInfo) throws IOException {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        long[] keys = new long[1000 + random.nextInt(2000)];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(10_000);
+        }
+        long[] merged = new long[keys.length];
+        int[] position = new int[1];
+        int maxFanIn = 2 + random.nextInt(4);
+
+        try (ExternalReleaseSorter sorter = new ExternalReleaseSorter(tempDir, 1 + random.nextInt(20), maxFanIn)) {
+            for (long key : keys) {
+                sorter.add(key);
+            }
+            int spilledRuns = sorter.getSpilledRuns();
+            sorter.merge(key -> merged[position[0]++] = key);
+
+            Arrays.sort(keys);
+            assertAll("merged keys",
+                    () -> assertTrue(spilledRuns > maxFanIn, "spilled runs: " + spilledRuns),
+                    () -> assertTrue(sorter.getSpilledRuns() <= maxFanIn, "runs left: " + sorter.getSpilledRuns()),
+                    () -> assertEquals(sorter.getSpilledRuns(), countFiles(tempDir)),
+                    () -> assertEquals(keys.length, position[0]),
+                    () -> assertArrayEquals(keys, merged)
+            );
+        }
+        assertEquals(0, countFiles(tempDir));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenFanInIsBelowTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new ExternalReleaseSorter(tempDir, 10, 1));
+    }
+
+    @Test
+    public void shouldSpillRunWhenRunSizeIsReached() throws IOException {
+        try (ExternalReleaseSorter sorter = new ExternalReleaseSorter(tempDir, 2)) {
+            for (long key = 5; key > 0; key--) {
+                sorter.add(key);
+            }
+
+            assertAll("spilled runs",
+                    () -> assertEquals(2, sorter.getSpilledRuns()),
+                    () -> assertEquals(2, countFiles(tempDir)),
+                    () -> assertEquals(5, sorter.size())
+            );
+        }
+        assertEquals(0, countFiles(tempDir));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenKeyIsNegative() {
+        ExternalReleaseSorter sorter = new ExternalReleaseSorter(tempDir, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> sorter.add(-1));
+    }
+
+    @Test
+    public void shouldWriteSameSchedulesWhenSortedExternally() throws IOException {
+        Path input = tempDir.resolve("releases.txt");
+        ReleaseGenerator.generate(input, 20_000, 500, ReleaseGenerator.StartDays.UNIFORM,
+                ReleaseGenerator.Estimations.HEAVY_TAILED, 3);
+        Path spillDirectory = Files.createDirectory(tempDir.resolve("runs"));
+
+        ScheduleSummary inMemory = Runner.processFile(input.toString(), tempDir.resolve("memory/output.txt").toString(),
+                tempDir.resolve("memory/bonus_output.txt").toString(), 500);
+        ScheduleSummary external = Runner.processFileExternally(input.toString(),
+                tempDir.resolve("external/output.txt").toString(),
+                tempDir.resolve("external/bonus_output.txt").toString(), 500, spillDirectory, 1000);
+
+        List<String> externalOutput = Files.readAllLines(tempDir.resolve("external/output.txt"));
+        assertAll("external schedules",
+                () -> assertEquals(inMemory, external),
+                () -> assertEquals(Files.readAllLines(tempDir.resolve("memory/bonus_output.txt")),
+                        Files.readAllLines(tempDir.resolve("external/bonus_output.txt"))),
+                () -> assertEquals(Files.readAllLines(tempDir.resolve("memory/output.txt")).size(),
+                        externalOutput.size()),
+                () -> assertEquals(0, countFiles(spillDirectory))
+        );
+    }
+
+    private static long countFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+}
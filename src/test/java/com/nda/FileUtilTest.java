@@ -17,6 +17,8 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.nda.common.LaneSchedule;
+import com.nda.common.ReleaseTable;
 import com.nda.util.FileUtil;
 
 public class FileUtilTest {
@@ -93,4 +95,34 @@ public class FileUtilTest {
         }
     }
 
+    @Test
+    public void shouldWriteLaneColumnWhenLaneScheduleProvided(@TempDir Path tempDir) throws IOException {
+        ReleaseTable releases = ReleaseTable.fromList(Arrays.asList(new int[]{1, 3}, new int[]{2, 4}, new int[]{4, 5}));
+        LaneSchedule schedule = new LaneSchedule(releases, new int[]{1, 2, 1}, 2);
+        Path outputFile = tempDir.resolve("lanes_output.txt");
+
+        FileUtil.writeLaneScheduleToFile(schedule, outputFile.toString());
+
+        assertEquals(List.of("3", "1 3 1", "2 4 2", "4 5 1"), Files.readAllLines(outputFile));
+    }
+
+    @Test
+    public void shouldWriteSameTextAsStringFormattingWhenTableSpansManyBuffers(@TempDir Path tempDir) throws IOException {
+        ReleaseTable resultTable = new ReleaseTable();
+        List<String> expected = new ArrayList<>();
+        int[] values = {0, 7, -7, 10, 99999, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for (int i = 0; i < 20000; i++) {
+            int startDay = values[i % values.length];
+            int finish = i;
+            resultTable.add(startDay, finish);
+            expected.add(startDay + " " + finish);
+        }
+        expected.add(0, String.valueOf(resultTable.size()));
+        Path outputFile = tempDir.resolve("testLargeOutput.txt");
+
+        FileUtil.writeResultTableToFile(resultTable, outputFile.toString());
+
+        assertEquals(expected, Files.readAllLines(outputFile));
+    }
+
 }
@@ -0,0 +1,81 @@
+package com.nda;
+
+import com.nda.logic.FreeDayIndex;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FreeDayIndexTest {
+
+    @Test
+    public void shouldFindEarliestFreeRunWhenDaysOccupied() {
+        FreeDayIndex freeDays = new FreeDayIndex(10);
+        freeDays.occupy(3, 2);
+        freeDays.occupy(8, 1);
+
+        assertAll("free runs",
+                () -> assertEquals(1, freeDays.findEarliestFreeRun(1, 2)),
+                () -> assertEquals(5, freeDays.findEarliestFreeRun(1, 3)),
+                () -> assertEquals(5, freeDays.findEarliestFreeRun(3, 1)),
+                () -> assertEquals(9, freeDays.findEarliestFreeRun(7, 2)),
+                () -> assertEquals(FreeDayIndex.NOT_FOUND, freeDays.findEarliestFreeRun(1, 4)),
+                () -> assertEquals(FreeDayIndex.NOT_FOUND, freeDays.findEarliestFreeRun(10, 2)),
+                () -> assertEquals(FreeDayIndex.NOT_FOUND, freeDays.findEarliestFreeRun(1, 11))
+        );
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenRangeOutsideSprint() {
+        FreeDayIndex freeDays = new FreeDayIndex(10);
+
+        assertThrows(IllegalArgumentException.class, () -> freeDays.occupy(9, 3));
+        assertThrows(IllegalArgumentException.class, () -> freeDays.release(0, 1));
+    }
+
+    @RepeatedTest(20)
+    public void shouldMatchLinearScanWhenRandomUpdates(RepetitionInfo repetitionInfo) {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        int sprintLength = 1 + random.nextInt(100);
+        FreeDayIndex freeDays = new FreeDayIndex(sprintLength);
+        boolean[] daysOccupied = new boolean[sprintLength + 1];
+
+        for (int step = 0; step < 500; step++) {
+            int fromDay = 1 + random.nextInt(sprintLength);
+            int length = 1 + random.nextInt(Math.max(1, sprintLength / 3));
+            int expected = linearScan(daysOccupied, fromDay, length);
+            assertEquals(expected, freeDays.findEarliestFreeRun(fromDay, length),
+                    "from " + fromDay + ", length " + length);
+
+            int startDay = 1 + random.nextInt(sprintLength);
+            int updateLength = 1 + random.nextInt(sprintLength - startDay + 1);
+            boolean occupy = random.nextBoolean();
+            if (occupy) {
+                freeDays.occupy(startDay, updateLength);
+            } else {
+                freeDays.release(startDay, updateLength);
+            }
+            for (int day = startDay; day < startDay + updateLength; day++) {
+                daysOccupied[day] = occupy;
+            }
+        }
+    }
+
+    private static int linearScan(boolean[] daysOccupied, int fromDay, int length) {
+        int sprintLength = daysOccupied.length - 1;
+        for (int startDay = fromDay; startDay + length - 1 <= sprintLength; startDay++) {
+            boolean free = true;
+            for (int day = startDay; day < startDay + length && free; day++) {
+                free = !daysOccupied[day];
+            }
+            if (free) {
+                return startDay;
+            }
+        }
+        return FreeDayIndex.NOT_FOUND;
+    }
+
+}
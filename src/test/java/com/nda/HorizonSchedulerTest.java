@@ -0,0 +1,139 @@
+package com.nda;
+
+import com.nda.common.HorizonSchedule;
+import com.nda.common.ReleaseTable;
+import com.nda.logic.HorizonScheduler;
+import com.nda.logic.ReleaseFinder;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HorizonSchedulerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldSolveEachSprintSeparatelyWhenReleasesSpanSprints() {
+        ReleaseTable releases = ReleaseTable.fromList(Arrays.asList(
+                new int[]{1, 2},
+                new int[]{9, 3},
+                new int[]{12, 2},
+                new int[]{11, 1},
+                new int[]{3_000_001, 10}
+        ));
+
+        HorizonSchedule schedule = HorizonScheduler.schedule(releases, 10);
+
+        assertAll("horizon schedule",
+                () -> assertEquals(List.of(1, 2, 300_001),
+                        schedule.sprints().stream().map(HorizonSchedule.SprintResult::sprint).toList()),
+                () -> assertArrayEquals(new int[][]{{1, 2}, {11, 11}, {12, 13}, {3_000_001, 3_000_010}},
+                        schedule.releasesWithoutShift().toList().toArray()),
+                () -> assertArrayEquals(new int[][]{{1, 2}, {11, 11}, {12, 13}, {3_000_001, 3_000_010}},
+                        schedule.releasesWithShift().toList().toArray())
+        );
+    }
+
+    @RepeatedTest(20)
+    public void shouldMatchSingleSprintSchedulesWhenRandomInput(RepetitionInfo repetitionInfo) {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        int sprintLength = 1 + random.nextInt(30);
+        int sprintCount = 1 + random.nextInt(20);
+        ReleaseTable releases = new ReleaseTable();
+        for (int row = 0; row < 500; row++) {
+            releases.add(1 + random.nextInt(sprintLength * sprintCount), 1 + random.nextInt(sprintLength));
+        }
+
+        HorizonSchedule schedule = HorizonScheduler.schedule(releases, sprintLength);
+
+        for (HorizonSchedule.SprintResult sprint : schedule.sprints()) {
+            int offset = (sprint.sprint() - 1) * sprintLength;
+            ReleaseTable sprintReleases = new ReleaseTable();
+            for (int row = 0; row < releases.size(); row++) {
+                int startDay = releases.getStartDay(row) - offset;
+                if (startDay >= 1 && startDay <= sprintLength) {
+                    sprintReleases.add(startDay, releases.getFinish(row));
+                }
+            }
+            assertEquals(sprintReleases.size(), sprint.releases());
+            assertArrayEquals(
+                    shift(ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(sprintReleases, sprintLength), offset),
+                    sprint.releasesWithoutShift().toList().toArray());
+            assertArrayEquals(
+                    shift(ReleaseFinder.findMaxReleasesWithShiftPerSprint(sprintReleases, sprintLength), offset),
+                    sprint.releasesWithShift().toList().toArray());
+        }
+    }
+
+    @Test
+    public void shouldScheduleQuicklyWhenManyReleasesShareAvailabilityDay() {
+        //every search starts on day 1, so walking the scheduled blocks would take 800 million steps
+        ReleaseTable releases = new ReleaseTable(40_000);
+        for (int row = 0; row < 40_000; row++) {
+            releases.add(1, 1);
+        }
+
+        HorizonSchedule schedule = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> HorizonScheduler.schedule(releases, 100_000));
+
+        ReleaseTable withShift = schedule.releasesWithShift();
+        assertAll("same day releases",
+                () -> assertEquals(1, schedule.releasesWithoutShift().size()),
+                () -> assertEquals(40_000, withShift.size()),
+                () -> assertEquals(40_000, withShift.getStartDay(withShift.size() - 1)),
+                () -> assertEquals(40_000, withShift.getFinish(withShift.size() - 1))
+        );
+    }
+
+    @Test
+    public void shouldPlaceLongerReleasesAfterShortGapsWhenShortReleasesFragmentSprint() {
+        ReleaseTable releases = ReleaseTable.fromList(Arrays.asList(
+                new int[]{2, 1},
+                new int[]{4, 1},
+                new int[]{6, 1},
+                new int[]{1, 2},
+                new int[]{1, 2}
+        ));
+
+        HorizonSchedule schedule = HorizonScheduler.schedule(releases, 10);
+
+        assertArrayEquals(new int[][]{{2, 2}, {4, 4}, {6, 6}, {7, 8}, {9, 10}},
+                schedule.releasesWithShift().toList().toArray());
+    }
+
+    @Test
+    public void shouldWriteAggregateAndSprintResultsWhenRunnerProcessesHorizon() throws IOException {
+        Path input = Files.write(tempDir.resolve("releases.txt"),
+                Arrays.asList("1 2", "3 2", "4 2", "2000000 5", "2000001 1"));
+
+        HorizonRunner.run(input.toString(), tempDir.resolve("out"), 10, 1_000_000);
+
+        assertAll("horizon output files",
+                () -> assertEquals(List.of("3", "1 2", "3 4", "2000001 2000001"),
+                        Files.readAllLines(tempDir.resolve("out/output.txt"))),
+                () -> assertEquals(List.of("4", "1 2", "3 4", "5 6", "2000001 2000001"),
+                        Files.readAllLines(tempDir.resolve("out/bonus_output.txt"))),
+                () -> assertEquals(List.of("3", "1 3 2 3", "200000 1 0 0", "200001 1 1 1"),
+                        Files.readAllLines(tempDir.resolve("out/sprints.txt")))
+        );
+    }
+
+    private static Object[] shift(ReleaseTable releases, int offset) {
+        return releases.toList().stream()
+                .map(release -> new int[]{release[0] + offset, release[1] + offset})
+                .toArray();
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.nda;
+
+import com.nda.common.ReleaseTable;
+import com.nda.logic.IncrementalReleaseScheduler;
+import com.nda.logic.ReleaseFinder;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalReleaseSchedulerTest {
+
+    @Test
+    public void shouldUpdateSelectionWhenReleasesAddedAndRemoved() {
+        IncrementalReleaseScheduler scheduler = new IncrementalReleaseScheduler(6);
+        scheduler.add(1, 2);
+        scheduler.add(3, 4);
+        scheduler.add(5, 6);
+
+        assertArrayEquals(new int[][]{{1, 2}, {3, 6}}, scheduler.getSelectedReleases().toList().toArray());
+
+        scheduler.add(3, 2);
+        scheduler.add(5, 2);
+        assertArrayEquals(new int[][]{{1, 2}, {3, 4}, {5, 6}}, scheduler.getSelectedReleases().toList().toArray());
+
+        assertTrue(scheduler.remove(3, 2));
+        assertFalse(scheduler.remove(3, 2));
+        assertArrayEquals(new int[][]{{1, 2}, {3, 6}}, scheduler.getSelectedReleases().toList().toArray());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenReleaseOutsideSprint() {
+        IncrementalReleaseScheduler scheduler = new IncrementalReleaseScheduler(6);
+
+        assertThrows(IllegalArgumentException.class, () -> scheduler.add(7, 1));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.add(1, 0));
+    }
+
+    @RepeatedTest(20)
+    public void shouldMatchFullRecomputeWhenRandomEdits(RepetitionInfo repetitionInfo) {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        int sprintLength = 1 + random.nextInt(40);
+        IncrementalReleaseScheduler scheduler = new IncrementalReleaseScheduler(sprintLength);
+        List<int[]> current = new ArrayList<>();
+
+        for (int step = 0; step < 300; step++) {
+            if (!current.isEmpty() && random.nextInt(3) == 0) {
+                int[] release = current.remove(random.nextInt(current.size()));
+                assertTrue(scheduler.remove(release[0], release[1]));
+            } else {
+                int[] release = {1 + random.nextInt(sprintLength), 1 + random.nextInt(sprintLength)};
+                current.add(release);
+                scheduler.add(release[0], release[1]);
+            }
+
+            ReleaseTable expected = ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(
+                    ReleaseTable.fromList(current), sprintLength);
+            List<int[]> actual = scheduler.getSelectedReleases().toList();
+            assertEquals(expected.size(), scheduler.getMaxReleases(), "step " + step);
+            assertEquals(expected.size(), actual.size(), "step " + step);
+            int lastFinishDay = 0;
+            for (int[] release : actual) {
+                assertTrue(release[0] > lastFinishDay, "step " + step);
+                assertTrue(current.stream().anyMatch(r -> r[0] == release[0] && r[0] + r[1] - 1 == release[1]));
+                lastFinishDay = release[1];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.nda;
+
+import com.nda.common.ReleaseTable;
+import com.nda.util.FileUtil;
+import com.nda.util.ReleaseGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadTestTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldGenerateSameFileWhenSameSeed() throws IOException {
+        Path first = tempDir.resolve("first.txt");
+        Path second = tempDir.resolve("second.txt");
+        Path otherSeed = tempDir.resolve("other.txt");
+
+        ReleaseGenerator.generate(first, 1000, 100, ReleaseGenerator.StartDays.UNIFORM,
+                ReleaseGenerator.Estimations.HEAVY_TAILED, 7);
+        ReleaseGenerator.generate(second, 1000, 100, ReleaseGenerator.StartDays.UNIFORM,
+                ReleaseGenerator.Estimations.HEAVY_TAILED, 7);
+        ReleaseGenerator.generate(otherSeed, 1000, 100, ReleaseGenerator.StartDays.UNIFORM,
+                ReleaseGenerator.Estimations.HEAVY_TAILED, 8);
+
+        assertAll("reproducible generation",
+                () -> assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second)),
+                () -> assertFalse(Files.mismatch(first, otherSeed) == -1)
+        );
+    }
+
+    @Test
+    public void shouldGenerateValidReleasesWhenAnyDistribution() throws IOException {
+        for (ReleaseGenerator.StartDays startDays : ReleaseGenerator.StartDays.values()) {
+            for (ReleaseGenerator.Estimations estimations : ReleaseGenerator.Estimations.values()) {
+                Path file = tempDir.resolve(startDays + "-" + estimations + ".txt");
+                ReleaseGenerator.generate(file, 5000, 50, startDays, estimations, 1);
+
+                ReleaseTable releases = FileUtil.readReleaseTable(file.toString(), 50);
+
+                assertEquals(5000, releases.size());
+                for (int row = 0; row < releases.size(); row++) {
+                    assertTrue(releases.getFinish(row) >= 1 && releases.getFinish(row) <= 50);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldClusterStartDaysNearSprintEndWhenSprintEndDistribution() throws IOException {
+        Path file = tempDir.resolve("sprint-end.txt");
+        ReleaseGenerator.generate(file, 5000, 100, ReleaseGenerator.StartDays.SPRINT_END,
+                ReleaseGenerator.Estimations.UNIFORM, 1);
+
+        ReleaseTable releases = FileUtil.readReleaseTable(file.toString(), 100);
+        int lateReleases = 0;
+        for (int row = 0; row < releases.size(); row++) {
+            if (releases.getStartDay(row) > 80) {
+                lateReleases++;
+            }
+        }
+
+        assertTrue(lateReleases > releases.size() * 3 / 4, "late releases: " + lateReleases);
+    }
+
+    @Test
+    public void shouldDrawEveryEstimationUpToSprintLengthWhenUniformEstimations() throws IOException {
+        Path file = tempDir.resolve("uniform.txt");
+        ReleaseGenerator.generate(file, 5000, 5, ReleaseGenerator.StartDays.UNIFORM,
+                ReleaseGenerator.Estimations.UNIFORM, 1);
+
+        ReleaseTable releases = FileUtil.readReleaseTable(file.toString(), 5);
+        boolean[] seen = new boolean[6];
+        for (int row = 0; row < releases.size(); row++) {
+            seen[releases.getFinish(row)] = true;
+        }
+
+        assertArrayEquals(new boolean[]{false, true, true, true, true, true}, seen);
+    }
+
+    @Test
+    public void shouldReportEveryRunWhenLoadTestRuns() throws IOException {
+        List<Path> files = LoadTest.generate(tempDir.resolve("input"), 3, 2000, 100,
+                ReleaseGenerator.StartDays.UNIFORM, ReleaseGenerator.Estimations.UNIFORM, 42);
+
+        LoadTest.LoadTestReport report = LoadTest.run(tempDir.resolve("input").toString(), tempDir.resolve("out"),
+                100, 2);
+
+        assertAll("load test report",
+                () -> assertEquals(3, files.size()),
+                () -> assertEquals(6, report.runs()),
+                () -> assertEquals(12_000, report.rows()),
+                () -> assertTrue(report.latencyPercentileNanos(50) <= report.latencyPercentileNanos(99)),
+                () -> assertTrue(report.peakHeapBytes() > 0),
+                () -> assertTrue(Files.exists(tempDir.resolve("out/output.txt")))
+        );
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.nda;
+
+import com.nda.common.ReleaseTable;
+import com.nda.exception.InputValidationException;
+import com.nda.util.MappedInputParser;
+import com.nda.util.TableUtil;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedInputParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Stream<Arguments> provideInvalidInputs() {
+        return Stream.of(
+                Arguments.of("0 0\n", 0, "Invalid sprint length provided."),
+                Arguments.of("0 7\n", 8, "Error at line 1: Invalid release day found. Expected value from 1 to 8"),
+                Arguments.of("-10 1\n", 6, "Invalid release day found. Expected value from 1 to 6"),
+                Arguments.of("500 7", 20, "Invalid release day found. Expected value from 1 to 20"),
+                Arguments.of("5 0\n", 10, "Negative or zero release estimation found"),
+                Arguments.of("5 -1\n", 10, "Negative or zero release estimation found"),
+                Arguments.of("a t\n7 3\n", 10, "Invalid integer on line 1: For input string: \"a\""),
+                Arguments.of("1 5\na 3\n", 10, "Error at line 2: Invalid integer on line 2"),
+                Arguments.of("1 5\r\n\r\n1 99999999999\r\n", 10, "Error at line 3: Invalid integer on line 3"),
+                Arguments.of("1 -\n", 10, "Invalid integer on line 1"),
+                Arguments.of("1 5 6 7\n", 10, "Invalid structure: expected 2 or 3 integers, found 4"),
+                Arguments.of("1 5 -2\n", 10, "Error at line 1: Negative or zero release weight found"),
+                Arguments.of("1\n", 10, "Invalid structure: expected 2 or 3 integers, found 1"),
+                Arguments.of("\uFEFF1 2\n", 10, "Invalid integer on line 1"),
+                Arguments.of("1 2\n3\u00A04\n", 10, "Error at line 2: Invalid structure"),
+                Arguments.of("1 2\u00E9\n", 10, "Invalid integer on line 1")
+        );
+    }
+
+    private static Stream<Arguments> provideValidInputs() {
+        return Stream.of(
+                Arguments.of("1 2\n3 4\n5 6\n",
+                        6,
+                        Arrays.asList(new int[]{1, 2}, new int[]{3, 4}, new int[]{5, 6})
+                ),
+                Arguments.of("1     20\n3    5  \n   7    6",
+                        7,
+                        Arrays.asList(new int[]{1, 20}, new int[]{3, 5}, new int[]{7, 6})
+                ),
+                Arguments.of("1 2\r\n\r\n5 6\r\n\t\r\n+3 1",
+                        10,
+                        Arrays.asList(new int[]{1, 2}, new int[]{5, 6}, new int[]{3, 1})
+                ),
+                Arguments.of("",
+                        10,
+                        List.of()
+                )
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideInvalidInputs")
+    public void shouldThrowExceptionForInvalidInputs(String input, int sprintLength, String expectedMessage)
+            throws IOException {
+        Path inputFile = writeInput(input);
+
+        InputValidationException exception = assertThrows(InputValidationException.class,
+                () -> MappedInputParser.parseInputFile(inputFile.toString(), sprintLength));
+        assertTrue(exception.getMessage().contains(expectedMessage),
+                "Error message should contain text, was: " + exception.getMessage());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideValidInputs")
+    public void shouldParseProperlyWhenInputIsCorrect(String input, int sprintLength, List<int[]> expected)
+            throws IOException {
+        Path inputFile = writeInput(input);
+
+        List<int[]> actual = MappedInputParser.parseInputFile(inputFile.toString(), sprintLength);
+
+        assertArrayEquals(expected.toArray(), actual.toArray());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideInvalidInputs")
+    public void shouldThrowSameExceptionWhenParsedInChunks(String input, int sprintLength, String expectedMessage)
+            throws IOException {
+        Path inputFile = writeInput(input);
+
+        InputValidationException exception = assertThrows(InputValidationException.class,
+                () -> MappedInputParser.parseInputTable(inputFile.toString(), sprintLength, 3));
+        assertTrue(exception.getMessage().contains(expectedMessage),
+                "Error message should contain text, was: " + exception.getMessage());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideValidInputs")
+    public void shouldParseProperlyWhenParsedInChunks(String input, int sprintLength, List<int[]> expected)
+            throws IOException {
+        Path inputFile = writeInput(input);
+
+        ReleaseTable actual = MappedInputParser.parseInputTable(inputFile.toString(), sprintLength, 4);
+
+        assertArrayEquals(expected.toArray(), actual.toList().toArray());
+    }
+
+    @Test
+    public void shouldKeepWeightColumnWhenParsedIntoTable() throws IOException {
+        Path inputFile = writeInput("1 2\n3 4 5\n2 1\n6 1 7\n");
+
+        ReleaseTable actual = MappedInputParser.parseInputTable(inputFile.toString(), 10, 3);
+
+        assertAll("weights",
+                () -> assertTrue(actual.hasWeights()),
+                () -> assertArrayEquals(new int[]{1, 5, 1, 7},
+                        IntStream.range(0, actual.size()).map(actual::getWeight).toArray())
+        );
+    }
+
+    @Test
+    public void shouldKeepWeightColumnWhenParsedIntoList() throws IOException {
+        List<String> lines = List.of("1 2", "3 4 5", "2 1");
+        Path inputFile = writeInput(String.join("\n", lines));
+
+        List<int[]> actual = MappedInputParser.parseInputFile(inputFile.toString(), 10);
+
+        assertArrayEquals(TableUtil.parseInputToTable(lines, 10).toArray(), actual.toArray());
+    }
+
+    @RepeatedTest(20)
+    public void shouldMatchSequentialParseWhenRandomFileParsedInChunks(RepetitionInfo repetitionInfo) throws IOException {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        String[] lineBreaks = {"\n", "\r\n", "\r"};
+        StringBuilder input = new StringBuilder();
+        int lines = 1 + random.nextInt(3000);
+        int invalidLine = random.nextBoolean() ? 1 + random.nextInt(lines) : 0;
+        for (int line = 1; line <= lines; line++) {
+            if (line == invalidLine) {
+                input.append("1 x");
+            } else if (random.nextInt(10) > 0) {
+                input.append(1 + random.nextInt(10)).append(' ').append(1 + random.nextInt(10));
+            }
+            input.append(lineBreaks[random.nextInt(lineBreaks.length)]);
+        }
+        Path inputFile = writeInput(input.toString());
+        int chunkCount = 1 + random.nextInt(8);
+
+        //a lone CR followed by an empty LF line reads as one CRLF, so the sequential parse is the reference
+        if (invalidLine > 0) {
+            InputValidationException expected = assertThrows(InputValidationException.class,
+                    () -> MappedInputParser.parseInputFile(inputFile.toString(), 10));
+            InputValidationException actual = assertThrows(InputValidationException.class,
+                    () -> MappedInputParser.parseInputTable(inputFile.toString(), 10, chunkCount));
+            assertEquals(expected.getMessage(), actual.getMessage());
+        } else {
+            assertArrayEquals(MappedInputParser.parseInputFile(inputFile.toString(), 10).toArray(),
+                    MappedInputParser.parseInputTable(inputFile.toString(), 10, chunkCount).toList().toArray());
+        }
+    }
+
+    @Test
+    public void shouldThrowNoSuchFileExceptionWhenFileNotExist() {
+        assertThrows(NoSuchFileException.class, () -> MappedInputParser.parseInputFile("noSuchFile.txt", 10));
+    }
+
+    private Path writeInput(String input) throws IOException {
+        Path inputFile = tempDir.resolve("releases.txt");
+        Files.writeString(inputFile, input, StandardCharsets.UTF_8);
+        return inputFile;
+    }
+
+}
@@ -1,15 +1,25 @@
 package com.nda;
 
+import com.nda.common.LaneSchedule;
+import com.nda.common.ReleaseTable;
+import com.nda.common.SprintSchedule;
 import com.nda.logic.ReleaseFinder;
+import com.nda.logic.SprintLengthSweep;
+import com.nda.logic.StreamingReleaseSelector;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import static com.nda.TestReleases.randomReleases;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Stream;
 
 public class ReleaseFinderTest {
@@ -128,4 +138,378 @@ public class ReleaseFinderTest {
 
         assertArrayEquals(expected.toArray(), actualReleases.toArray(), message);
     }
+
+    @ParameterizedTest
+    @MethodSource("provideValidInputsWithoutShiftPossible")
+    public void shouldReturnCorrectReleaseTableWithoutShiftWhenValidInput(String message,
+                                                                          List<int[]> input,
+                                                                          int sprintLength,
+                                                                          List<int[]> expected) {
+
+        ReleaseTable actualReleases = ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(
+                ReleaseTable.fromList(input), sprintLength);
+
+        assertArrayEquals(expected.toArray(), actualReleases.toList().toArray(), message);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideValidInputsWithShiftPossible")
+    public void shouldReturnCorrectReleaseTableWithShiftWhenValidInput(String message,
+                                                                       List<int[]> input,
+                                                                       int sprintLength,
+                                                                       List<int[]> expected) {
+
+        ReleaseTable actualReleases = ReleaseFinder.findMaxReleasesWithShiftPerSprint(
+                ReleaseTable.fromList(input), sprintLength);
+
+        assertArrayEquals(expected.toArray(), actualReleases.toList().toArray(), message);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideInvalidInputs")
+    public void shouldReturnEmptyReleaseTableWhenInvalidInputProvided(String message,
+                                                                      List<int[]> input,
+                                                                      int sprintLength,
+                                                                      List<int[]> expected) {
+
+        ReleaseTable actualReleases = ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(
+                ReleaseTable.fromList(input), sprintLength);
+
+        assertArrayEquals(expected.toArray(), actualReleases.toList().toArray(), message);
+    }
+
+    @RepeatedTest(20)
+    public void shouldReturnSameReleasesForTableAndListWhenRandomInput(RepetitionInfo repetitionInfo) {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        int sprintLength = 1 + random.nextInt(50);
+        List<int[]> input = randomReleases(random, 200, sprintLength);
+
+        assertAll("table and list results",
+                () -> assertArrayEquals(
+                        ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(input, sprintLength).toArray(),
+                        ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(ReleaseTable.fromList(input), sprintLength)
+                                .toList().toArray()),
+                () -> assertArrayEquals(
+                        ReleaseFinder.findMaxReleasesWithShiftPerSprint(input, sprintLength).toArray(),
+                        ReleaseFinder.findMaxReleasesWithShiftPerSprint(ReleaseTable.fromList(input), sprintLength)
+                                .toList().toArray())
+        );
+    }
+
+    @RepeatedTest(20)
+    public void shouldReturnSameReleasesForBothModesTogetherWhenRandomInput(RepetitionInfo repetitionInfo) {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        int sprintLength = 1 + random.nextInt(50);
+        ReleaseTable input = ReleaseTable.fromList(randomReleases(random, 200, sprintLength));
+
+        SprintSchedule schedule = ReleaseFinder.findMaxReleasesPerSprint(input, sprintLength);
+
+        assertAll("fused and separate results",
+                () -> assertArrayEquals(
+                        ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(input, sprintLength).toList().toArray(),
+                        schedule.releasesWithoutShift().toList().toArray()),
+                () -> assertArrayEquals(
+                        ReleaseFinder.findMaxReleasesWithShiftPerSprint(input, sprintLength).toList().toArray(),
+                        schedule.releasesWithShift().toList().toArray())
+        );
+    }
+
+    @Test
+    public void shouldReturnOptimalReleasesWithShiftWhenGreedyMissesOne() {
+        List<int[]> input = Arrays.asList(new int[]{1, 2}, new int[]{2, 1});
+
+        List<int[]> greedyReleases = ReleaseFinder.findMaxReleasesWithShiftPerSprint(input, 3);
+        List<int[]> optimalReleases = ReleaseFinder.findOptimalReleasesWithShiftPerSprint(input, 3);
+
+        assertEquals(1, greedyReleases.size());
+        assertArrayEquals(new int[][]{{1, 2}, {3, 3}}, optimalReleases.toArray());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenOptimalSolverInputIsTooLarge() {
+        ReleaseTable input = new ReleaseTable(40_000);
+        for (int day = 1; day <= 40_000; day++) {
+            input.add(day, 1);
+        }
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ReleaseFinder.findOptimalReleasesWithShiftPerSprint(input, 1_000_000));
+    }
+
+    @RepeatedTest(50)
+    public void shouldReturnOptimalReleasesWithShiftWhenRandomInput(RepetitionInfo repetitionInfo) {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        int sprintLength = 1 + random.nextInt(15);
+        List<int[]> input = randomReleases(random, 7, sprintLength);
+
+        List<int[]> optimalReleases = ReleaseFinder.findOptimalReleasesWithShiftPerSprint(input, sprintLength);
+
+        assertEquals(bruteForceMaxReleases(input, sprintLength, new boolean[input.size()], 0), optimalReleases.size());
+        assertTrue(optimalReleases.size() >= ReleaseFinder.findMaxReleasesWithShiftPerSprint(input, sprintLength).size());
+        assertValidSchedule(input, optimalReleases, sprintLength);
+    }
+
+    @Test
+    public void shouldPreferHeavierReleaseWhenWeightsProvided() {
+        List<int[]> input = Arrays.asList(new int[]{1, 2, 1}, new int[]{3, 2, 1}, new int[]{2, 3, 5}, new int[]{9, 5});
+
+        List<int[]> weightedReleases = ReleaseFinder.findMaxWeightedReleasesPerSprint(input, 10);
+
+        assertArrayEquals(new int[][]{{2, 4}}, weightedReleases.toArray());
+    }
+
+    @Test
+    public void shouldPreferHeavierReleaseWhenWeightedTableProvided() {
+        ReleaseTable input = ReleaseTable.fromList(Arrays.asList(
+                new int[]{1, 2, 1}, new int[]{3, 2, 1}, new int[]{2, 3, 5}, new int[]{9, 5}));
+
+        ReleaseTable weightedReleases = ReleaseFinder.findMaxWeightedReleasesPerSprint(input, 10);
+
+        assertArrayEquals(new int[][]{{2, 4}}, weightedReleases.toList().toArray());
+    }
+
+    @Test
+    public void shouldMatchUnweightedCountWhenNoWeightsProvided() {
+        List<int[]> input = Arrays.asList(new int[]{1, 2}, new int[]{2, 2}, new int[]{3, 4}, new int[]{5, 3});
+
+        List<int[]> weightedReleases = ReleaseFinder.findMaxWeightedReleasesPerSprint(input, 6);
+
+        assertEquals(ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(copy(input), 6).size(), weightedReleases.size());
+    }
+
+    @RepeatedTest(50)
+    public void shouldReturnMaxTotalWeightWhenRandomInput(RepetitionInfo repetitionInfo) {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        int sprintLength = 1 + random.nextInt(15);
+        List<int[]> input = new ArrayList<>();
+        for (int[] release : randomReleases(random, 12, sprintLength)) {
+            input.add(new int[]{release[0], release[1], 1 + random.nextInt(20)});
+        }
+
+        List<int[]> weightedReleases = ReleaseFinder.findMaxWeightedReleasesPerSprint(input, sprintLength);
+
+        //identical releases overlap each other, so a selected row always stands for the heaviest of them
+        long total = 0;
+        for (int[] row : weightedReleases) {
+            total += input.stream()
+                    .filter(release -> release[0] == row[0] && release[0] + release[1] - 1 == row[1])
+                    .mapToInt(release -> release[2])
+                    .max().orElseThrow();
+        }
+        assertEquals(bruteForceMaxWeight(input, sprintLength), total);
+        assertValidSchedule(input, weightedReleases, sprintLength);
+    }
+
+    private static long bruteForceMaxWeight(List<int[]> releases, int sprintLength) {
+        long best = 0;
+        for (int subset = 0; subset < 1 << releases.size(); subset++) {
+            boolean[] busy = new boolean[sprintLength + 1];
+            long total = 0;
+            boolean valid = true;
+            for (int i = 0; i < releases.size() && valid; i++) {
+                if ((subset & 1 << i) == 0) {
+                    continue;
+                }
+                int[] release = releases.get(i);
+                int finishDay = release[0] + release[1] - 1;
+                valid = finishDay <= sprintLength;
+                for (int day = release[0]; valid && day <= finishDay; day++) {
+                    valid = !busy[day];
+                    busy[day] = true;
+                }
+                total += release[2];
+            }
+            if (valid) {
+                best = Math.max(best, total);
+            }
+        }
+        return best;
+    }
+
+    private static List<int[]> copy(List<int[]> releases) {
+        List<int[]> copies = new ArrayList<>();
+        releases.forEach(release -> copies.add(release.clone()));
+        return copies;
+    }
+
+    @Test
+    public void shouldAssignReleasesToLanesWhenSeveralTestersProvided() {
+        ReleaseTable input = ReleaseTable.fromList(Arrays.asList(
+                new int[]{1, 3}, new int[]{2, 3}, new int[]{4, 2}, new int[]{3, 4}, new int[]{9, 5}));
+
+        LaneSchedule schedule = ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(input, 10, 2);
+
+        assertAll("lane schedule",
+                () -> assertArrayEquals(new int[][]{{1, 3}, {2, 4}, {4, 5}}, schedule.releases().toList().toArray()),
+                () -> assertArrayEquals(new int[]{1, 2, 1}, schedule.lanes())
+        );
+    }
+
+    @RepeatedTest(50)
+    public void shouldReturnMaxReleasesAcrossLanesWhenRandomInput(RepetitionInfo repetitionInfo) {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        int sprintLength = 1 + random.nextInt(15);
+        int lanes = 1 + random.nextInt(3);
+        List<int[]> input = randomReleases(random, 12, sprintLength);
+
+        LaneSchedule schedule = ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(ReleaseTable.fromList(input),
+                sprintLength, lanes);
+
+        assertEquals(bruteForceMaxReleasesAcrossLanes(input, sprintLength, lanes), schedule.size());
+        int[] laneFinishDays = new int[lanes + 1];
+        for (int row = 0; row < schedule.size(); row++) {
+            int lane = schedule.getLane(row);
+            assertTrue(schedule.releases().getStartDay(row) > laneFinishDays[lane], "Overlapping releases in a lane");
+            laneFinishDays[lane] = schedule.releases().getFinish(row);
+        }
+        if (lanes == 1) {
+            assertEquals(ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(copy(input), sprintLength).size(),
+                    schedule.size());
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenLanesAreNotPositive() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(new ReleaseTable(), 10, 0));
+    }
+
+    @Test
+    public void shouldKeepShortestReleasePerDayWhenStreamed() {
+        StreamingReleaseSelector selector = new StreamingReleaseSelector(6);
+        for (int[] release : Arrays.asList(new int[]{1, 4}, new int[]{1, 2}, new int[]{3, 1}, new int[]{3, 4},
+                new int[]{4, 3}, new int[]{5, 3})) {
+            selector.add(release[0], release[1]);
+        }
+
+        assertArrayEquals(new int[][]{{1, 2}, {3, 3}, {4, 6}}, selector.select().toList().toArray());
+    }
+
+    @RepeatedTest(20)
+    public void shouldReturnSameCountForStreamingAndTableWhenRandomInput(RepetitionInfo repetitionInfo) {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        int sprintLength = 1 + random.nextInt(50);
+        List<int[]> input = randomReleases(random, 200, sprintLength);
+        StreamingReleaseSelector selector = new StreamingReleaseSelector(sprintLength);
+        input.forEach(release -> selector.add(release[0], release[1]));
+
+        ReleaseTable streamed = selector.select();
+
+        assertEquals(ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(ReleaseTable.fromList(input), sprintLength)
+                .size(), streamed.size());
+        for (int row = 0; row < streamed.size(); row++) {
+            int startDay = streamed.getStartDay(row);
+            int finishDay = streamed.getFinish(row);
+            assertTrue(row == 0 || startDay > streamed.getFinish(row - 1));
+            assertTrue(input.stream().anyMatch(release -> release[0] == startDay
+                    && release[0] + release[1] - 1 == finishDay));
+        }
+    }
+
+    @RepeatedTest(20)
+    public void shouldMatchSeparateRunsForEverySprintLengthWhenSwept(RepetitionInfo repetitionInfo) {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        int maxSprintLength = 1 + random.nextInt(40);
+        ReleaseTable input = ReleaseTable.fromList(randomReleases(random, 200, maxSprintLength));
+
+        SprintLengthSweep.Result withoutShift = ReleaseFinder.findMaxReleasesWithoutShiftPerSprintLength(input,
+                maxSprintLength, true);
+        SprintLengthSweep.Result withShift = ReleaseFinder.findMaxReleasesWithShiftPerSprintLength(input,
+                maxSprintLength, true);
+
+        assertEquals(0, withoutShift.getReleaseCount(0));
+        for (int length = 1; length <= maxSprintLength; length++) {
+            ReleaseTable expectedWithoutShift = ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(input, length);
+            ReleaseTable expectedWithShift = ReleaseFinder.findMaxReleasesWithShiftPerSprint(input, length);
+            assertEquals(expectedWithoutShift.size(), withoutShift.getReleaseCount(length));
+            assertArrayEquals(expectedWithoutShift.toList().toArray(),
+                    withoutShift.getSelection(length).toList().toArray());
+            assertEquals(expectedWithShift.size(), withShift.getReleaseCount(length));
+            assertArrayEquals(expectedWithShift.toList().toArray(), withShift.getSelection(length).toList().toArray());
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenSweepSelectionsWereNotKept() {
+        SprintLengthSweep.Result result = ReleaseFinder.findMaxReleasesWithoutShiftPerSprintLength(
+                ReleaseTable.fromList(Arrays.asList(new int[]{1, 2}, new int[]{3, 1})), 5, false);
+
+        assertAll("counts only",
+                () -> assertArrayEquals(new int[]{0, 0, 1, 2, 2, 2}, result.releaseCounts()),
+                () -> assertThrows(IllegalStateException.class, () -> result.getSelection(5))
+        );
+    }
+
+    @Test
+    public void shouldKeepLongerSelectionsWhenShorterSweepSelectionIsModified() {
+        SprintLengthSweep.Result result = ReleaseFinder.findMaxReleasesWithoutShiftPerSprintLength(
+                ReleaseTable.fromList(Arrays.asList(new int[]{1, 2}, new int[]{3, 1})), 5, true);
+
+        result.getSelection(2).add(9, 9);
+
+        assertAll("independent selections",
+                () -> assertArrayEquals(new int[][]{{1, 2}, {9, 9}}, result.getSelection(2).toList().toArray()),
+                () -> assertArrayEquals(new int[][]{{1, 2}, {3, 3}}, result.getSelection(3).toList().toArray())
+        );
+    }
+
+    //intervals fit k testers iff no day is covered by more than k of them
+    private static int bruteForceMaxReleasesAcrossLanes(List<int[]> releases, int sprintLength, int lanes) {
+        int best = 0;
+        for (int subset = 0; subset < 1 << releases.size(); subset++) {
+            int[] load = new int[sprintLength + 1];
+            boolean valid = true;
+            for (int i = 0; i < releases.size() && valid; i++) {
+                if ((subset & 1 << i) == 0) {
+                    continue;
+                }
+                int[] release = releases.get(i);
+                int finishDay = release[0] + release[1] - 1;
+                valid = finishDay <= sprintLength;
+                for (int day = release[0]; valid && day <= finishDay; day++) {
+                    valid = ++load[day] <= lanes;
+                }
+            }
+            if (valid) {
+                best = Math.max(best, Integer.bitCount(subset));
+            }
+        }
+        return best;
+    }
+
+    //tries every order of every subset, starting each release as early as the order allows
+    private static int bruteForceMaxReleases(List<int[]> releases, int sprintLength, boolean[] used, int lastFinishDay) {
+        int best = 0;
+        for (int i = 0; i < releases.size(); i++) {
+            if (used[i]) {
+                continue;
+            }
+            int startDay = Math.max(lastFinishDay + 1, releases.get(i)[0]);
+            int finishDay = startDay + releases.get(i)[1] - 1;
+            if (finishDay <= sprintLength) {
+                used[i] = true;
+                best = Math.max(best, 1 + bruteForceMaxReleases(releases, sprintLength, used, finishDay));
+                used[i] = false;
+            }
+        }
+        return best;
+    }
+
+    //every scheduled row must match a distinct release it does not start before, inside the sprint, without overlap
+    static void assertValidSchedule(List<int[]> input, List<int[]> schedule, int sprintLength) {
+        boolean[] matched = new boolean[input.size()];
+        int lastFinishDay = 0;
+        for (int[] row : schedule) {
+            assertTrue(row[0] > lastFinishDay && row[1] <= sprintLength, "Overlapping or out of sprint row");
+            lastFinishDay = row[1];
+            boolean found = false;
+            for (int i = 0; i < input.size() && !found; i++) {
+                if (!matched[i] && input.get(i)[0] <= row[0] && input.get(i)[1] == row[1] - row[0] + 1) {
+                    matched[i] = true;
+                    found = true;
+                }
+            }
+            assertTrue(found, "Scheduled row does not match an unused release: " + Arrays.toString(row));
+        }
+    }
 }
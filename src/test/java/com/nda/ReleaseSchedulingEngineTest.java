@@ -0,0 +1,210 @@
+package com.nda;
+
+import com.nda.common.ReleaseTable;
+import com.nda.common.SprintSchedule;
+import com.nda.logic.ReleaseFinder;
+import com.nda.logic.ReleaseSchedulingEngine;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import static com.nda.TestReleases.randomTable;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReleaseSchedulingEngineTest {
+
+    @RepeatedTest(20)
+    public void shouldMatchReleaseFinderWhenRandomInput(RepetitionInfo repetitionInfo) {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        int sprintLength = 1 + random.nextInt(50);
+        //start days up to sprintLength + 1, so some rows are filtered out
+        ReleaseTable releases = randomTable(random, 1 + random.nextInt(300), sprintLength + 1,
+                Math.max(1, sprintLength / 4));
+        List<int[]> inputBefore = releases.toList();
+        ReleaseSchedulingEngine engine = new ReleaseSchedulingEngine(sprintLength);
+
+        SprintSchedule schedule;
+        try (ReleaseSchedulingEngine.Lease lease = engine.acquire()) {
+            schedule = lease.findMaxReleasesPerSprint(releases);
+        }
+
+        assertAll("engine schedules",
+                () -> assertArrayEquals(
+                        ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(releases, sprintLength).toList().toArray(),
+                        schedule.releasesWithoutShift().toList().toArray()),
+                () -> assertArrayEquals(
+                        ReleaseFinder.findMaxReleasesWithShiftPerSprint(releases, sprintLength).toList().toArray(),
+                        schedule.releasesWithShift().toList().toArray()),
+                () -> assertArrayEquals(inputBefore.toArray(), releases.toList().toArray())
+        );
+    }
+
+    @Test
+    public void shouldFillCallerTableWhenOutputIsSupplied() {
+        ReleaseSchedulingEngine engine = new ReleaseSchedulingEngine(6);
+        ReleaseTable output = new ReleaseTable();
+        output.add(9, 9);
+
+        ReleaseTable result = engine.findMaxReleasesWithShift(
+                ReleaseTable.fromList(List.of(new int[]{1, 2}, new int[]{1, 2}, new int[]{4, 2})), output);
+
+        assertAll("caller output",
+                () -> assertSame(output, result),
+                () -> assertArrayEquals(new int[][]{{1, 2}, {3, 4}, {5, 6}}, result.toList().toArray())
+        );
+    }
+
+    @Test
+    public void shouldReturnSameSchedulesWhenSharedAcrossThreads() throws Exception {
+        ReleaseTable releases = randomTable(new Random(11), 5000, 200, 50);
+        ReleaseSchedulingEngine engine = new ReleaseSchedulingEngine(200);
+        List<int[]> expectedWithoutShift = ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(releases, 200).toList();
+        List<int[]> expectedWithShift = ReleaseFinder.findMaxReleasesWithShiftPerSprint(releases, 200).toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int task = 0; task < 16; task++) {
+                tasks.add(executor.submit(() -> {
+                    for (int call = 0; call < 20; call++) {
+                        try (ReleaseSchedulingEngine.Lease lease = engine.acquire()) {
+                            SprintSchedule schedule = lease.findMaxReleasesPerSprint(releases);
+                            assertArrayEquals(expectedWithoutShift.toArray(),
+                                    schedule.releasesWithoutShift().toList().toArray());
+                            assertArrayEquals(expectedWithShift.toArray(),
+                                    schedule.releasesWithShift().toList().toArray());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldNotAllocateWhenBuffersAreWarm() {
+        ReleaseTable releases = randomTable(new Random(3), 10_000, 100, 25);
+        ReleaseSchedulingEngine engine = new ReleaseSchedulingEngine(100);
+        ReleaseTable output = new ReleaseTable(100);
+        engine.findMaxReleasesWithoutShift(releases, output);
+        engine.findMaxReleasesWithShift(releases, output);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int call = 0; call < 100; call++) {
+            engine.findMaxReleasesWithoutShift(releases, output);
+            engine.findMaxReleasesWithShift(releases, output);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        //a few bytes may come from the measurement itself, a single sort column would already be 40 KB
+        assertTrue(allocated < 16 * 1024, "allocated bytes: " + allocated);
+    }
+
+    @Test
+    public void shouldReuseScratchWhenEveryCallRunsOnNewThread() throws Exception {
+        ReleaseTable releases = randomTable(new Random(5), 10_000, 100, 25);
+        ReleaseSchedulingEngine engine = new ReleaseSchedulingEngine(100);
+        try (ReleaseSchedulingEngine.Lease lease = engine.acquire()) {
+            lease.findMaxReleasesPerSprint(releases);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] allocated = new long[1];
+
+        for (int call = 0; call < 10; call++) {
+            Thread thread = new Thread(() -> {
+                long threadId = Thread.currentThread().getId();
+                long before = threads.getThreadAllocatedBytes(threadId);
+                try (ReleaseSchedulingEngine.Lease lease = engine.acquire()) {
+                    lease.findMaxReleasesPerSprint(releases);
+                }
+                allocated[0] = Math.max(allocated[0], threads.getThreadAllocatedBytes(threadId) - before);
+            });
+            thread.start();
+            thread.join();
+        }
+
+        //a new scratch would allocate four sort columns of 40 KB each
+        assertTrue(allocated[0] < 16 * 1024, "allocated bytes: " + allocated[0]);
+    }
+
+    @Test
+    public void shouldNotPoolScratchWhenItGrewPastMaximumRows() {
+        ReleaseTable releases = randomTable(new Random(7), 10_000, 100, 25);
+        ReleaseSchedulingEngine engine = new ReleaseSchedulingEngine(100, 4, 1000, new Semaphore(4));
+        try (ReleaseSchedulingEngine.Lease lease = engine.acquire()) {
+            lease.findMaxReleasesPerSprint(releases);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        try (ReleaseSchedulingEngine.Lease lease = engine.acquire()) {
+            lease.findMaxReleasesPerSprint(releases);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        //a pooled scratch allocates a few bytes at most, the dropped one is made again with its four sort columns
+        assertTrue(allocated > 64 * 1024, "allocated bytes: " + allocated);
+    }
+
+    @Test
+    public void shouldShareOnePermitWhenEnginesShareSemaphore() {
+        ReleaseTable releases = ReleaseTable.fromList(List.of(new int[]{1, 2}));
+        Semaphore poolPermits = new Semaphore(1);
+        ReleaseSchedulingEngine first = new ReleaseSchedulingEngine(6, 4, 1000, poolPermits);
+        ReleaseSchedulingEngine second = new ReleaseSchedulingEngine(10, 4, 1000, poolPermits);
+
+        ReleaseSchedulingEngine.Lease firstLease = first.acquire();
+        ReleaseSchedulingEngine.Lease secondLease = second.acquire();
+        firstLease.findMaxReleasesPerSprint(releases);
+        secondLease.findMaxReleasesPerSprint(releases);
+        firstLease.close();
+        int permitsAfterFirstClose = poolPermits.availablePermits();
+        secondLease.close();
+        int permitsAfterSecondClose = poolPermits.availablePermits();
+        first.acquire().close();
+
+        assertAll("shared pool permits",
+                () -> assertEquals(0, permitsAfterFirstClose),
+                () -> assertEquals(0, permitsAfterSecondClose),
+                () -> assertEquals(0, poolPermits.availablePermits())
+        );
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenLeaseIsUsedAfterClose() {
+        ReleaseSchedulingEngine engine = new ReleaseSchedulingEngine(6);
+        ReleaseSchedulingEngine.Lease lease = engine.acquire();
+        lease.close();
+
+        assertThrows(IllegalStateException.class,
+                () -> lease.findMaxReleasesWithShift(ReleaseTable.fromList(List.of(new int[]{1, 2}))));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenPoolSizeIsNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> new ReleaseSchedulingEngine(6, 0));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenSprintLengthIsNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> new ReleaseSchedulingEngine(0));
+    }
+
+}
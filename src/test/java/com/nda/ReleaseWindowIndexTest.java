@@ -0,0 +1,87 @@
+package com.nda;
+
+import com.nda.common.ReleaseTable;
+import com.nda.logic.ReleaseFinder;
+import com.nda.logic.ReleaseWindowIndex;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static com.nda.TestReleases.randomTable;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReleaseWindowIndexTest {
+
+    @Test
+    public void shouldCountReleasesInsideWindowWhenQueried() {
+        ReleaseTable releases = ReleaseTable.fromList(Arrays.asList(
+                new int[]{1, 2},
+                new int[]{3, 2},
+                new int[]{4, 2},
+                new int[]{6, 1},
+                new int[]{7, 4}
+        ));
+        ReleaseWindowIndex index = new ReleaseWindowIndex(releases, 10);
+
+        assertAll("window counts",
+                () -> assertEquals(4, index.countReleases(1, 10)),
+                () -> assertEquals(2, index.countReleases(1, 4)),
+                () -> assertEquals(3, index.countReleases(4, 10)),
+                () -> assertEquals(0, index.countReleases(2, 3)),
+                () -> assertEquals(0, index.countReleases(5, 4)),
+                () -> assertArrayEquals(new int[][]{{3, 4}, {6, 6}, {7, 10}},
+                        index.selectReleases(2, 10).toList().toArray())
+        );
+    }
+
+    @RepeatedTest(20)
+    public void shouldMatchReleaseFinderOnFilteredCopyWhenRandomWindow(RepetitionInfo repetitionInfo) {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        int sprintLength = 1 + random.nextInt(60);
+        ReleaseTable releases = randomTable(random, 100, sprintLength, Math.max(1, sprintLength / 3));
+        ReleaseWindowIndex index = new ReleaseWindowIndex(releases, sprintLength);
+
+        for (int query = 0; query < 50; query++) {
+            int fromDay = 1 + random.nextInt(sprintLength);
+            int toDay = fromDay + random.nextInt(sprintLength - fromDay + 1);
+            ReleaseTable window = new ReleaseTable();
+            for (int row = 0; row < releases.size(); row++) {
+                if (releases.getStartDay(row) >= fromDay) {
+                    window.add(releases.getStartDay(row) - fromDay + 1, releases.getFinish(row));
+                }
+            }
+            int expected = ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(window, toDay - fromDay + 1).size();
+
+            assertEquals(expected, index.countReleases(fromDay, toDay), "window " + fromDay + ".." + toDay);
+            assertEquals(expected, index.selectReleases(fromDay, toDay).size());
+        }
+    }
+
+    @Test
+    public void shouldAnswerSameCountsWhenQueriedConcurrently() {
+        ReleaseTable releases = randomTable(new Random(5), 10_000, 1000, 20);
+        ReleaseWindowIndex index = new ReleaseWindowIndex(releases, 1000);
+
+        int[] sequential = IntStream.rangeClosed(1, 1000).map(day -> index.countReleases(day, 1000)).toArray();
+        int[] concurrent = IntStream.rangeClosed(1, 1000).parallel()
+                .map(day -> index.countReleases(day, 1000)).toArray();
+
+        assertArrayEquals(sequential, concurrent);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenWindowIsOutsideSprint() {
+        ReleaseWindowIndex index = new ReleaseWindowIndex(new ReleaseTable(), 10);
+
+        assertAll("invalid windows",
+                () -> assertThrows(IllegalArgumentException.class, () -> index.countReleases(0, 5)),
+                () -> assertThrows(IllegalArgumentException.class, () -> index.countReleases(3, 11)),
+                () -> assertThrows(IllegalArgumentException.class, () -> index.countReleases(7, 5))
+        );
+    }
+
+}
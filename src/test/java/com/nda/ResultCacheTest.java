@@ -0,0 +1,156 @@
+package com.nda;
+
+import com.nda.common.ScheduleSummary;
+import com.nda.util.ResultCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldRestoreStoredResultWhenSameInputSprintAndMode() throws IOException {
+        ResultCache cache = new ResultCache(tempDir.resolve("cache"), 1 << 20);
+        Path input = Files.write(tempDir.resolve("releases.txt"), Arrays.asList("1 2", "3 4"));
+        Path result = Files.write(tempDir.resolve("output.txt"), Arrays.asList("1", "1 2"));
+        String fingerprint = ResultCache.fingerprint(input);
+
+        cache.store(fingerprint, 10, ResultCache.Mode.WITHOUT_SHIFT, new ResultCache.Entry(2, 1), result);
+        Path restored = tempDir.resolve("restored/output.txt");
+        Optional<ResultCache.Entry> entry = cache.restore(fingerprint, 10, ResultCache.Mode.WITHOUT_SHIFT, restored);
+
+        assertAll("cache hit",
+                () -> assertEquals(Optional.of(new ResultCache.Entry(2, 1)), entry),
+                () -> assertEquals(List.of("1", "1 2"), Files.readAllLines(restored)),
+                () -> assertTrue(cache.restore(fingerprint, 9, ResultCache.Mode.WITHOUT_SHIFT, restored).isEmpty()),
+                () -> assertTrue(cache.restore(fingerprint, 10, ResultCache.Mode.WITH_SHIFT, restored).isEmpty())
+        );
+    }
+
+    @Test
+    public void shouldMissWhenEntryWasStoredByAnotherVersion() throws IOException {
+        Path cacheDirectory = Files.createDirectories(tempDir.resolve("cache"));
+        ResultCache cache = new ResultCache(cacheDirectory, 1 << 20);
+        String fingerprint = ResultCache.fingerprint(
+                Files.write(tempDir.resolve("releases.txt"), Arrays.asList("1 2", "3 4")));
+        //same key under the unversioned and the previous version's names
+        Files.write(cacheDirectory.resolve(fingerprint + "-10-without_shift.entry"), Arrays.asList("2 1", "1", "1 2"));
+        Files.write(cacheDirectory.resolve(fingerprint + "-10-without_shift-v" + (ResultCache.VERSION - 1) +
+                ".entry"), Arrays.asList("2 1", "1", "1 2"));
+
+        assertTrue(cache.restore(fingerprint, 10, ResultCache.Mode.WITHOUT_SHIFT, tempDir.resolve("restored.txt"))
+                .isEmpty());
+    }
+
+    @Test
+    public void shouldChangeFingerprintWhenInputContentChanges() throws IOException {
+        Path input = Files.write(tempDir.resolve("releases.txt"), Arrays.asList("1 2", "3 4"));
+        String before = ResultCache.fingerprint(input);
+        Files.write(input, Arrays.asList("1 2", "3 5"));
+
+        assertNotEquals(before, ResultCache.fingerprint(input));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntriesWhenCacheIsFull() throws IOException {
+        Path cacheDirectory = tempDir.resolve("cache");
+        //each entry below takes 10 bytes, so two of them fit
+        ResultCache cache = new ResultCache(cacheDirectory, 25);
+        Path result = Files.write(tempDir.resolve("output.txt"), Arrays.asList("1", "1 2"));
+        Path restored = tempDir.resolve("restored.txt");
+
+        cache.store("aaa", 10, ResultCache.Mode.WITHOUT_SHIFT, new ResultCache.Entry(2, 1), result);
+        cache.store("bbb", 10, ResultCache.Mode.WITHOUT_SHIFT, new ResultCache.Entry(2, 1), result);
+        setLastModified(cacheDirectory, "aaa", 1_000);
+        setLastModified(cacheDirectory, "bbb", 2_000);
+        cache.restore("aaa", 10, ResultCache.Mode.WITHOUT_SHIFT, restored);
+        cache.store("ccc", 10, ResultCache.Mode.WITHOUT_SHIFT, new ResultCache.Entry(2, 1), result);
+
+        assertAll("eviction",
+                () -> assertTrue(cache.restore("aaa", 10, ResultCache.Mode.WITHOUT_SHIFT, restored).isPresent()),
+                () -> assertTrue(cache.restore("bbb", 10, ResultCache.Mode.WITHOUT_SHIFT, restored).isEmpty()),
+                () -> assertTrue(cache.restore("ccc", 10, ResultCache.Mode.WITHOUT_SHIFT, restored).isPresent())
+        );
+    }
+
+    @Test
+    public void shouldRestoreWholeEntriesWhenStoredAndReadConcurrently() throws Exception {
+        ResultCache cache = new ResultCache(tempDir.resolve("cache"), 1 << 20);
+        List<String> lines = new ArrayList<>();
+        lines.add("5000");
+        for (int row = 1; row <= 5000; row++) {
+            lines.add(row + " " + row);
+        }
+        Path result = Files.write(tempDir.resolve("output.txt"), lines);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int task = 0; task < 16; task++) {
+                Path restored = tempDir.resolve("restored-" + task + ".txt");
+                tasks.add(executor.submit(() -> {
+                    cache.store("same", 10, ResultCache.Mode.WITH_SHIFT, new ResultCache.Entry(5000, 5000), result);
+                    assertTrue(cache.restore("same", 10, ResultCache.Mode.WITH_SHIFT, restored).isPresent());
+                    assertEquals(lines, Files.readAllLines(restored));
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldWriteSameOutputsWhenRunnerHitsCache() throws IOException {
+        ResultCache cache = new ResultCache(tempDir.resolve("cache"), 1 << 20);
+        Path input = Files.write(tempDir.resolve("releases.txt"), Arrays.asList("1 2", "3 2", "4 2"));
+        Path output = tempDir.resolve("out/output.txt");
+        Path bonusOutput = tempDir.resolve("out/bonus_output.txt");
+
+        ScheduleSummary computed = Runner.processFile(input.toString(), output.toString(), bonusOutput.toString(),
+                6, cache);
+        List<String> computedOutput = Files.readAllLines(output);
+        List<String> computedBonusOutput = Files.readAllLines(bonusOutput);
+        Files.delete(output);
+        Files.delete(bonusOutput);
+        ScheduleSummary cached = Runner.processFile(input.toString(), output.toString(), bonusOutput.toString(),
+                6, cache);
+
+        assertAll("cached run",
+                () -> assertEquals(computed, cached),
+                () -> assertEquals(computedOutput, Files.readAllLines(output)),
+                () -> assertEquals(computedBonusOutput, Files.readAllLines(bonusOutput))
+        );
+    }
+
+    private static void setLastModified(Path cacheDirectory, String fingerprint, long millis) throws IOException {
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().startsWith(fingerprint)) {
+                    Files.setLastModifiedTime(file, FileTime.fromMillis(millis));
+                }
+            }
+        }
+    }
+
+}
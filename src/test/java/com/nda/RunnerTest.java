@@ -0,0 +1,85 @@
+package com.nda;
+
+import com.nda.metrics.SchedulerMetrics;
+import com.nda.util.ResultCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.nda.common.Constants.LANES_PROPERTY;
+import static com.nda.common.Constants.WEIGHTED_PROPERTY;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RunnerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(LANES_PROPERTY);
+        System.clearProperty(WEIGHTED_PROPERTY);
+        SchedulerMetrics.getInstance().setEnabled(false);
+        SchedulerMetrics.getInstance().reset();
+    }
+
+    @Test
+    public void shouldWriteLanesOutputWhenResultsComeFromCache() throws Exception {
+        Path input = Files.write(tempDir.resolve("releases.txt"), Arrays.asList("1 2", "2 2", "3 2", "5 2"));
+        Path lanesOutput = tempDir.resolve("out/lanes_output.txt");
+        ResultCache cache = new ResultCache(tempDir.resolve("cache"), 1 << 20);
+        System.setProperty(LANES_PROPERTY, "2");
+
+        Runner.processSingleFile(input.toString(), tempDir.resolve("out/output.txt").toString(),
+                tempDir.resolve("out/bonus_output.txt").toString(), lanesOutput.toString(),
+                tempDir.resolve("out/weighted_output.txt").toString(), 6, cache);
+        List<String> firstRun = Files.readAllLines(lanesOutput);
+        Files.delete(lanesOutput);
+        Runner.processSingleFile(input.toString(), tempDir.resolve("out/output.txt").toString(),
+                tempDir.resolve("out/bonus_output.txt").toString(), lanesOutput.toString(),
+                tempDir.resolve("out/weighted_output.txt").toString(), 6, cache);
+
+        assertAll("lanes output with cache",
+                () -> assertEquals("4", firstRun.get(0)),
+                () -> assertEquals(firstRun, Files.readAllLines(lanesOutput)),
+                () -> assertEquals(List.of("3", "1 2", "3 4", "5 6"),
+                        Files.readAllLines(tempDir.resolve("out/output.txt")))
+        );
+    }
+
+    @Test
+    public void shouldParseInputOnceWhenLanesAndWeightedModesRun() throws Exception {
+        Path input = Files.write(tempDir.resolve("releases.txt"), Arrays.asList("1 2 1", "3 2 1", "2 3 5", "9 5"));
+        System.setProperty(LANES_PROPERTY, "2");
+        System.setProperty(WEIGHTED_PROPERTY, "true");
+        SchedulerMetrics.getInstance().reset();
+        SchedulerMetrics.getInstance().setEnabled(true);
+
+        Runner.processSingleFile(input.toString(), tempDir.resolve("out/output.txt").toString(),
+                tempDir.resolve("out/bonus_output.txt").toString(), tempDir.resolve("out/lanes_output.txt").toString(),
+                tempDir.resolve("out/weighted_output.txt").toString(), 10, null);
+
+        assertAll("single parse",
+                () -> assertEquals(1L, SchedulerMetrics.getInstance().getPhaseInvocations().get("PARSE")),
+                () -> assertEquals(List.of("1", "2 4"),
+                        Files.readAllLines(tempDir.resolve("out/weighted_output.txt"))),
+                () -> assertTrue(Files.exists(tempDir.resolve("out/lanes_output.txt")))
+        );
+    }
+
+    @Test
+    public void shouldWriteHeaviestReleasesWhenWeightedModeRuns() throws Exception {
+        Path input = Files.write(tempDir.resolve("releases.txt"), Arrays.asList("1 2 1", "3 2 1", "2 3 5", "9 5"));
+        Path weightedOutput = tempDir.resolve("out/weighted_output.txt");
+
+        Runner.processFileWeighted(input.toString(), weightedOutput.toString(), 10);
+
+        assertEquals(List.of("1", "2 4"), Files.readAllLines(weightedOutput));
+    }
+
+}
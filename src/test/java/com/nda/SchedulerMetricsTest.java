@@ -0,0 +1,100 @@
+package com.nda;
+
+import com.nda.common.ReleaseTable;
+import com.nda.common.SprintSchedule;
+import com.nda.logic.ReleaseFinder;
+import com.nda.metrics.SchedulerMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.Attribute;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchedulerMetricsTest {
+
+    private final SchedulerMetrics metrics = SchedulerMetrics.getInstance();
+
+    @BeforeEach
+    public void setUp() {
+        SchedulerMetrics.registerMBean();
+        metrics.reset();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        metrics.setEnabled(false);
+        metrics.reset();
+    }
+
+    @Test
+    public void shouldCountPhasesAndRowsWhenEnabled() throws Exception {
+        metrics.setEnabled(true);
+        ReleaseTable releases = ReleaseTable.fromList(Arrays.asList(
+                new int[]{1, 2}, new int[]{2, 2}, new int[]{3, 4}, new int[]{5, 3}));
+
+        SprintSchedule schedule = ReleaseFinder.findMaxReleasesPerSprint(releases, 6);
+
+        Map<String, Long> invocations = metrics.getPhaseInvocations();
+        assertAll("scheduler metrics",
+                () -> assertEquals(2, schedule.releasesWithoutShift().size()),
+                () -> assertEquals(2, schedule.releasesWithShift().size()),
+                () -> assertEquals(1L, invocations.get("FILTER")),
+                () -> assertEquals(2L, invocations.get("SORT")),
+                () -> assertEquals(2L, invocations.get("SELECT")),
+                () -> assertEquals(0L, invocations.get("PARSE")),
+                () -> assertTrue(metrics.getPhaseTotalNanos().get("SELECT") > 0),
+                () -> assertEquals(1, metrics.getFilteredOutRows()),
+                () -> assertEquals(1, metrics.getUnscheduledReleases()),
+                () -> assertTrue(ManagementFactory.getPlatformMBeanServer()
+                        .isRegistered(new ObjectName(SchedulerMetrics.OBJECT_NAME)))
+        );
+    }
+
+    @Test
+    public void shouldSwitchMetricsOnOverJmxWhenRegisteredWhileDisabled() throws Exception {
+        metrics.setEnabled(false);
+        ObjectName name = new ObjectName(SchedulerMetrics.OBJECT_NAME);
+
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        ManagementFactory.getPlatformMBeanServer().setAttribute(name, new Attribute("Enabled", true));
+        assertTrue(metrics.isEnabled());
+    }
+
+    @Test
+    public void shouldCountListPathPhasesWhenEnabled() {
+        metrics.setEnabled(true);
+        List<int[]> releases = new ArrayList<>(Arrays.asList(new int[]{1, 2}, new int[]{3, 4}, new int[]{5, 3}));
+
+        ReleaseFinder.findMaxReleasesWithoutShiftPerSprint(releases, 6);
+
+        Map<String, Long> invocations = metrics.getPhaseInvocations();
+        assertAll("list path metrics",
+                () -> assertEquals(1L, invocations.get("FILTER")),
+                () -> assertEquals(1L, invocations.get("FINISH_DAY")),
+                () -> assertEquals(1L, invocations.get("SORT")),
+                () -> assertEquals(1L, invocations.get("SELECT")),
+                () -> assertEquals(1, metrics.getFilteredOutRows())
+        );
+    }
+
+    @Test
+    public void shouldRecordNothingWhenDisabled() {
+        metrics.setEnabled(false);
+
+        ReleaseFinder.findMaxReleasesPerSprint(ReleaseTable.fromList(List.of(new int[]{1, 2}, new int[]{5, 3})), 6);
+
+        assertAll("disabled metrics",
+                () -> assertTrue(metrics.getPhaseInvocations().values().stream().allMatch(count -> count == 0)),
+                () -> assertEquals(0, metrics.getFilteredOutRows())
+        );
+    }
+
+}
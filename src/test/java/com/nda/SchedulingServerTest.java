@@ -0,0 +1,143 @@
+package com.nda;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchedulingServerTest {
+
+    private static SchedulingServer server;
+    private static HttpClient client;
+
+    @BeforeAll
+    public static void startServer() throws IOException {
+        server = SchedulingServer.start(0);
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    public void shouldReturnBothSchedulesWhenInputIsCorrect() throws Exception {
+        HttpResponse<String> response = post("/schedule?sprintLength=6", "1 2\n3 2\n4 2\n");
+
+        assertAll("schedule response",
+                () -> assertEquals(200, response.statusCode()),
+                () -> assertEquals("2\n1 2\n3 4\n3\n1 2\n3 4\n5 6\n", response.body())
+        );
+    }
+
+    @Test
+    public void shouldReturnBadRequestWhenInputIsInvalid() throws Exception {
+        HttpResponse<String> response = post("/schedule", "1 2\n0 3\n");
+
+        assertAll("invalid input response",
+                () -> assertEquals(400, response.statusCode()),
+                () -> assertTrue(response.body().startsWith("Error at line 2: Invalid release day found."))
+        );
+    }
+
+    @Test
+    public void shouldReturnMethodNotAllowedWhenNotPost() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/schedule")).GET().build();
+
+        assertEquals(405, client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    @Test
+    public void shouldReturnBadRequestWhenSprintLengthIsAboveLimit() throws Exception {
+        HttpResponse<String> response = post("/schedule?sprintLength=2000000000", "1 2\n");
+
+        assertAll("sprint length limit",
+                () -> assertEquals(400, response.statusCode()),
+                () -> assertTrue(response.body().startsWith("Sprint length must be at most"))
+        );
+    }
+
+    @Test
+    public void shouldReturnPayloadTooLargeWhenBodyIsAboveLimit() throws Exception {
+        SchedulingServer smallServer = SchedulingServer.start(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 10, 12);
+        try {
+            String body = "1 2\n3 2\n4 2\n5 1\n";
+            HttpRequest declared = HttpRequest.newBuilder(uri(smallServer, "/schedule"))
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            HttpRequest chunked = HttpRequest.newBuilder(uri(smallServer, "/schedule"))
+                    .POST(HttpRequest.BodyPublishers.ofInputStream(
+                            () -> new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))))
+                    .build();
+            HttpRequest small = HttpRequest.newBuilder(uri(smallServer, "/schedule"))
+                    .POST(HttpRequest.BodyPublishers.ofString("1 2\n"))
+                    .build();
+
+            assertAll("body limit",
+                    () -> assertEquals(413, client.send(declared, HttpResponse.BodyHandlers.ofString()).statusCode()),
+                    () -> assertEquals(413, client.send(chunked, HttpResponse.BodyHandlers.ofString()).statusCode()),
+                    () -> assertEquals(200, client.send(small, HttpResponse.BodyHandlers.ofString()).statusCode())
+            );
+        } finally {
+            smallServer.stop();
+        }
+    }
+
+    @Test
+    public void shouldListenOnLoopbackWhenStartedWithPortOnly() {
+        assertTrue(server.getAddress().getAddress().isLoopbackAddress());
+    }
+
+    @Test
+    public void shouldAnswerEveryRequestWhenSentConcurrently() {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            HttpRequest request = HttpRequest.newBuilder(uri("/schedule?sprintLength=10"))
+                    .POST(HttpRequest.BodyPublishers.ofString("1 1\n2 1\n" + (3 + i % 5) + " 2\n"))
+                    .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.join().statusCode());
+            assertTrue(response.join().body().startsWith("3\n1 1\n2 2\n"));
+        }
+    }
+
+    private static HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(String path) {
+        return uri(server, path);
+    }
+
+    private static URI uri(SchedulingServer target, String path) {
+        InetSocketAddress address = target.getAddress();
+        String host = address.getAddress() instanceof Inet6Address
+                ? "[" + address.getHostString() + "]"
+                : address.getHostString();
+        return URI.create("http://" + host + ":" + address.getPort() + path);
+    }
+
+}
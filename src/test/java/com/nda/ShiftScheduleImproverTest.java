@@ -0,0 +1,91 @@
+package com.nda;
+
+import com.nda.common.ReleaseTable;
+import com.nda.logic.ReleaseFinder;
+import com.nda.logic.ShiftScheduleImprover;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.nda.TestReleases.randomTable;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShiftScheduleImproverTest {
+
+    @Test
+    public void shouldFindMissedReleaseWhenGreedyMissesOne() {
+        ReleaseTable releases = ReleaseTable.fromList(Arrays.asList(new int[]{1, 2}, new int[]{2, 1}));
+
+        ReleaseTable improved = ReleaseFinder.findImprovedReleasesWithShiftPerSprint(releases, 3,
+                Duration.ofMillis(50));
+
+        assertArrayEquals(new int[][]{{1, 2}, {3, 3}}, improved.toList().toArray());
+    }
+
+    @RepeatedTest(20)
+    public void shouldReturnValidScheduleBetweenGreedyAndOptimalWhenRandomInput(RepetitionInfo repetitionInfo) {
+        Random random = new Random(repetitionInfo.getCurrentRepetition());
+        int sprintLength = 1 + random.nextInt(40);
+        ReleaseTable releases = randomTable(random, 1 + random.nextInt(60), sprintLength,
+                Math.max(1, sprintLength / 3));
+
+        ReleaseTable improved = ShiftScheduleImprover.improve(releases, sprintLength, Duration.ofMillis(20), 2,
+                random.nextLong());
+
+        assertTrue(improved.size() >= ReleaseFinder.findMaxReleasesWithShiftPerSprint(releases, sprintLength).size());
+        assertTrue(improved.size()
+                <= ReleaseFinder.findOptimalReleasesWithShiftPerSprint(releases, sprintLength).size());
+        assertScheduleIsValid(releases, improved, sprintLength);
+    }
+
+    @Test
+    public void shouldReturnEmptyScheduleWhenNoReleaseFits() {
+        ReleaseTable releases = ReleaseTable.fromList(Arrays.asList(new int[]{5, 7}, new int[]{9, 3}));
+
+        assertTrue(ShiftScheduleImprover.improve(releases, 10, Duration.ofMillis(10), 2, 1).isEmpty());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenRestartsAreNotPositive() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ShiftScheduleImprover.improve(new ReleaseTable(), 10, Duration.ZERO, 0, 1));
+    }
+
+    @Test
+    public void shouldRunFewerSearchesWhenHeapCannotHoldRestarts() {
+        //a million candidates take 20 MB per search, so 100 MB of free heap leaves room for two in its half
+        assertAll("searches bounded by heap",
+                () -> assertEquals(8, ShiftScheduleImprover.boundRestarts(8, 1000, 100, 100L << 20)),
+                () -> assertEquals(2, ShiftScheduleImprover.boundRestarts(8, 1_000_000, 100, 100L << 20)),
+                () -> assertEquals(1, ShiftScheduleImprover.boundRestarts(8, 1_000_000, 100, 1L << 20))
+        );
+    }
+
+    //every block lies in the sprint without overlaps, and blocks can be matched to distinct releases they fit
+    private static void assertScheduleIsValid(ReleaseTable releases, ReleaseTable schedule, int sprintLength) {
+        boolean[] used = new boolean[releases.size()];
+        int lastFinishDay = 0;
+        for (int row = 0; row < schedule.size(); row++) {
+            int startDay = schedule.getStartDay(row);
+            int finishDay = schedule.getFinish(row);
+            assertTrue(startDay > lastFinishDay && finishDay <= sprintLength);
+            lastFinishDay = finishDay;
+            //a block of a given length fits the latest available unused release of that length best
+            int match = -1;
+            for (int release = 0; release < releases.size(); release++) {
+                if (!used[release] && releases.getFinish(release) == finishDay - startDay + 1
+                        && releases.getStartDay(release) <= startDay
+                        && (match == -1 || releases.getStartDay(release) > releases.getStartDay(match))) {
+                    match = release;
+                }
+            }
+            assertNotEquals(-1, match, "no release for block " + startDay + ".." + finishDay);
+            used[match] = true;
+        }
+    }
+
+}
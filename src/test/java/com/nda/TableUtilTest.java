@@ -25,7 +25,9 @@ public class TableUtilTest {
                 Arguments.of(List.of("5 -1"), 10, "Negative or zero release estimation found"),
                 Arguments.of(List.of("a t", "7 3"), 10, "Invalid integer on line 1"),
                 Arguments.of(List.of("1 5", "a 3"), 10, "Invalid integer on line 2"),
-                Arguments.of(List.of("1 5 6"), 10, "Invalid structure: expected 2 integers, found 3")
+                Arguments.of(List.of("1 5 6 7"), 10, "Invalid structure: expected 2 or 3 integers, found 4"),
+                Arguments.of(List.of("1 5 0"), 10, "Negative or zero release weight found"),
+                Arguments.of(List.of("1 5 x"), 10, "Invalid integer on line 1")
         );
     }
 
@@ -42,6 +44,10 @@ public class TableUtilTest {
                 Arguments.of(Arrays.asList("1 2", "", "5 6", "\t"),
                         10,
                         Arrays.asList(new int[]{1, 2}, new int[]{5, 6})
+                ),
+                Arguments.of(Arrays.asList("1 2 5", "3 4"),
+                        6,
+                        Arrays.asList(new int[]{1, 2, 5}, new int[]{3, 4})
                 )
         );
     }
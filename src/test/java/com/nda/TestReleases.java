@@ -0,0 +1,37 @@
+package com.nda;
+
+import com.nda.common.ReleaseTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Random release tables shared by the randomized tests. Tests seed the given Random, so a failing input can be
+ * generated again.
+ */
+public final class TestReleases {
+
+    private TestReleases() {
+    }
+
+    //up to maxRows [start day, estimation] rows, both between 1 and sprintLength, so some rows do not fit
+    static List<int[]> randomReleases(Random random, int maxRows, int sprintLength) {
+        int rows = random.nextInt(maxRows + 1);
+        List<int[]> releases = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            releases.add(new int[]{1 + random.nextInt(sprintLength), 1 + random.nextInt(sprintLength)});
+        }
+        return releases;
+    }
+
+    //rows [start day, estimation] with start days between 1 and maxStartDay, estimations between 1 and maxEstimation
+    static ReleaseTable randomTable(Random random, int rows, int maxStartDay, int maxEstimation) {
+        ReleaseTable releases = new ReleaseTable(rows);
+        for (int row = 0; row < rows; row++) {
+            releases.add(1 + random.nextInt(maxStartDay), 1 + random.nextInt(maxEstimation));
+        }
+        return releases;
+    }
+
+}